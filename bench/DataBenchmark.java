@@ -0,0 +1,100 @@
+package bench;
+
+import casestudy.CsvParser;
+import casestudy.CsvTable;
+import casestudy.DatasetLoader;
+import nn.data.DataNormalizer;
+import nn.data.handlers.UseMeanHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataBenchmark {
+
+    private static final int INPUT_COLUMNS = 5;
+    private static final int OUTPUT_COLUMNS = 1;
+
+    @Param({ "1000", "100000", "1000000" })
+    private int rows;
+
+    private Path csv;
+    private double[][] inputs;
+    private double[][] outputs;
+    private DataNormalizer fitted;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Random random = new Random(42);
+        csv = Files.createTempFile("nn-bench-", ".csv");
+
+        inputs = new double[rows][INPUT_COLUMNS];
+        outputs = new double[rows][OUTPUT_COLUMNS];
+        try (BufferedWriter writer = Files.newBufferedWriter(csv)) {
+            writer.write("f1,f2,f3,f4,f5,target\n");
+            for (int i = 0; i < rows; i++) {
+                StringBuilder line = new StringBuilder();
+                for (int j = 0; j < INPUT_COLUMNS; j++) {
+                    inputs[i][j] = random.nextDouble() * 10;
+                    line.append(inputs[i][j]).append(',');
+                }
+                outputs[i][0] = random.nextDouble() * 6;
+                line.append(outputs[i][0]).append('\n');
+                writer.write(line.toString());
+            }
+        }
+
+        fitted = new DataNormalizer();
+        fitted.fit(inputs, outputs);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(csv);
+    }
+
+    @Benchmark
+    public double[][] loadCsv() throws IOException {
+        DatasetLoader loader = new DatasetLoader(new UseMeanHandler());
+        loader.load(csv.toString(), INPUT_COLUMNS, OUTPUT_COLUMNS);
+        return loader.getInputs();
+    }
+
+    @Benchmark
+    public CsvTable parseCsv() throws IOException {
+        return new CsvParser(INPUT_COLUMNS + OUTPUT_COLUMNS).parse(csv);
+    }
+
+    @Benchmark
+    public DataNormalizer fitNormalizer() {
+        DataNormalizer normalizer = new DataNormalizer();
+        normalizer.fit(inputs, outputs);
+        return normalizer;
+    }
+
+    @Benchmark
+    public double[][] normalizeInputs() {
+        return fitted.normalizeInputs(inputs);
+    }
+}
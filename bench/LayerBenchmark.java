@@ -0,0 +1,88 @@
+package bench;
+
+import nn.activation.ReLU;
+import nn.core.Layer;
+import nn.initialization.HeInitializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LayerBenchmark {
+
+    private static final int BATCH_SIZE = 32;
+
+    @Param({ "8", "64", "256" })
+    private int width;
+
+    private Layer layer;
+    private double[] input;
+    private double[] gradient;
+    private double[][] batchInput;
+    private double[][] batchGradient;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        layer = new Layer(width, width, new ReLU(), new HeInitializer(42));
+        input = randomVector(width, random);
+        gradient = randomVector(width, random);
+        batchInput = MatrixUtilsBenchmark.randomMatrix(BATCH_SIZE, width, random);
+        batchGradient = MatrixUtilsBenchmark.randomMatrix(BATCH_SIZE, width, random);
+        layer.forward(input);
+        layer.forwardBatch(batchInput);
+    }
+
+    @Benchmark
+    public double[] forward() {
+        return layer.forward(input);
+    }
+
+    @Benchmark
+    public double[] forwardReusing() {
+        return layer.forwardReusing(input);
+    }
+
+    @Benchmark
+    public double[] backward() {
+        return layer.backward(gradient, 1e-9);
+    }
+
+    @Benchmark
+    public double[] backwardReusing() {
+        return layer.backwardReusing(gradient, 1e-9);
+    }
+
+    @Benchmark
+    public double[][] forwardBatch() {
+        return layer.forwardBatch(batchInput);
+    }
+
+    @Benchmark
+    public double[][] backwardBatch() {
+        return layer.backwardBatch(batchGradient, 1e-9);
+    }
+
+    private static double[] randomVector(int size, Random random) {
+        double[] vector = new double[size];
+        for (int i = 0; i < size; i++) {
+            vector[i] = random.nextGaussian();
+        }
+        return vector;
+    }
+}
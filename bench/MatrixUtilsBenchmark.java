@@ -0,0 +1,78 @@
+package bench;
+
+import nn.util.MatrixUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatrixUtilsBenchmark {
+
+    @Param({ "8", "64", "256" })
+    private int size;
+
+    private double[][] a;
+    private double[][] b;
+    private double[][] result;
+    private double[] flatA;
+    private double[] flatB;
+    private double[] flatResult;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        a = randomMatrix(size, size, random);
+        b = randomMatrix(size, size, random);
+        result = new double[size][size];
+        flatA = MatrixUtils.toFlat(a);
+        flatB = MatrixUtils.toFlat(b);
+        flatResult = new double[size * size];
+    }
+
+    @Benchmark
+    public double[][] multiply() {
+        return MatrixUtils.multiply(a, b);
+    }
+
+    @Benchmark
+    public double[][] multiplyInto() {
+        MatrixUtils.multiplyInto(a, b, result);
+        return result;
+    }
+
+    @Benchmark
+    public double[] multiplyFlat() {
+        MatrixUtils.multiplyInto(flatA, 0, size, flatB, 0, size, flatResult, 0, size, size, size, size);
+        return flatResult;
+    }
+
+    @Benchmark
+    public double[][] transpose() {
+        return MatrixUtils.transpose(a);
+    }
+
+    static double[][] randomMatrix(int rows, int cols, Random random) {
+        double[][] matrix = new double[rows][cols];
+        for (double[] row : matrix) {
+            for (int j = 0; j < cols; j++) {
+                row[j] = random.nextGaussian();
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,117 @@
+package bench;
+
+import nn.activation.Linear;
+import nn.activation.ReLU;
+import nn.core.Layer;
+import nn.core.NeuralNetwork;
+import nn.initialization.HeInitializer;
+import nn.loss.MeanSquaredError;
+import nn.training.Trainer;
+import nn.training.TrainingConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrainingBenchmark {
+
+    private static final int FEATURES = 5;
+    private static final int SAMPLE_ROWS = 1000;
+
+    @State(Scope.Thread)
+    public static class SampleState {
+
+        @Param({ "8", "64" })
+        private int hiddenWidth;
+
+        private NeuralNetwork network;
+        private double[][] inputs;
+        private double[][] expected;
+        private int next;
+
+        @Setup
+        public void setup() {
+            Random random = new Random(42);
+            inputs = MatrixUtilsBenchmark.randomMatrix(SAMPLE_ROWS, FEATURES, random);
+            expected = targets(inputs);
+            network = network(hiddenWidth);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class EpochState {
+
+        @Param({ "8", "64" })
+        private int hiddenWidth;
+
+        @Param({ "1000", "100000" })
+        private int samples;
+
+        @Param({ "1", "32" })
+        private int batchSize;
+
+        private Trainer trainer;
+        private double[][] inputs;
+        private double[][] expected;
+
+        @Setup
+        public void setup() {
+            Random random = new Random(42);
+            inputs = MatrixUtilsBenchmark.randomMatrix(samples, FEATURES, random);
+            expected = targets(inputs);
+
+            TrainingConfig config = new TrainingConfig()
+                    .setEpochs(1)
+                    .setBatchSize(batchSize)
+                    .setLearningRate(1e-4)
+                    .setVerbose(false)
+                    .setSeed(42);
+            trainer = new Trainer(network(hiddenWidth), config);
+        }
+    }
+
+    @Benchmark
+    public double trainSample(SampleState state) {
+        int i = state.next;
+        state.next = (i + 1) % SAMPLE_ROWS;
+        return state.network.train(state.inputs[i], state.expected[i], 1e-4);
+    }
+
+    @Benchmark
+    public double[] trainEpoch(EpochState state) {
+        return state.trainer.train(state.inputs, state.expected);
+    }
+
+    private static double[][] targets(double[][] inputs) {
+        double[][] expected = new double[inputs.length][1];
+        for (int i = 0; i < inputs.length; i++) {
+            double sum = 0;
+            for (double value : inputs[i]) {
+                sum += value;
+            }
+            expected[i][0] = Math.tanh(sum);
+        }
+        return expected;
+    }
+
+    private static NeuralNetwork network(int hiddenWidth) {
+        NeuralNetwork network = new NeuralNetwork(new MeanSquaredError());
+        network.addLayer(new Layer(FEATURES, hiddenWidth, new ReLU(), new HeInitializer(42)));
+        network.addLayer(new Layer(hiddenWidth, 1, new Linear(), new HeInitializer(43)));
+        return network;
+    }
+}
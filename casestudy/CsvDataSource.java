@@ -0,0 +1,103 @@
+package casestudy;
+
+import nn.data.DataSource;
+import nn.data.handlers.MissingValueHandler;
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class CsvDataSource implements DataSource {
+
+    private final Path file;
+    private final int inputColumns;
+    private final int outputColumns;
+    private final MissingValueHandler handler;
+    private final CsvParser parser;
+    private double[] columnMeans;
+
+    public CsvDataSource(Path file, int inputColumns, int outputColumns, MissingValueHandler handler) {
+        if (inputColumns < 1 || outputColumns < 1) {
+            throw new IllegalArgumentException("Input and output column counts must be at least 1");
+        }
+        this.file = file;
+        this.inputColumns = inputColumns;
+        this.outputColumns = outputColumns;
+        this.handler = handler;
+        this.parser = new CsvParser(inputColumns + outputColumns);
+    }
+
+    @Override
+    public int getInputColumns() {
+        return inputColumns;
+    }
+
+    @Override
+    public int getOutputColumns() {
+        return outputColumns;
+    }
+
+    @Override
+    public Cursor open() throws IOException {
+        double[] means = getColumnMeans();
+        CsvParser.RowReader rows = parser.openRows(file);
+        double[] values = new double[inputColumns + outputColumns];
+        boolean[] missing = new boolean[values.length];
+
+        return new Cursor() {
+            @Override
+            public boolean next(double[] input, double[] expected) throws IOException {
+                while (rows.next(values, missing)) {
+                    if (fillMissing(values, missing, means)) {
+                        System.arraycopy(values, 0, input, 0, inputColumns);
+                        System.arraycopy(values, inputColumns, expected, 0, outputColumns);
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public void close() throws IOException {
+                rows.close();
+            }
+        };
+    }
+
+    public synchronized double[] getColumnMeans() throws IOException {
+        if (columnMeans == null) {
+            int columns = inputColumns + outputColumns;
+            double[] sums = new double[columns];
+            long[] counts = new long[columns];
+            double[] values = new double[columns];
+            boolean[] missing = new boolean[columns];
+            try (CsvParser.RowReader rows = parser.openRows(file)) {
+                while (rows.next(values, missing)) {
+                    for (int c = 0; c < columns; c++) {
+                        if (!missing[c]) {
+                            sums[c] += values[c];
+                            counts[c]++;
+                        }
+                    }
+                }
+            }
+            double[] means = new double[columns];
+            for (int c = 0; c < columns; c++) {
+                means[c] = counts[c] > 0 ? sums[c] / counts[c] : 0.0;
+            }
+            columnMeans = means;
+        }
+        return columnMeans.clone();
+    }
+
+    private boolean fillMissing(double[] values, boolean[] missing, double[] means) {
+        for (int c = 0; c < values.length; c++) {
+            if (missing[c]) {
+                Double replacement = handler.handle(c, means);
+                if (replacement == null) {
+                    return false;
+                }
+                values[c] = replacement;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,320 @@
+package casestudy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CsvParser {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int BYTES_PER_CELL_ESTIMATE = 12;
+    private static final long MIN_CHUNK_BYTES = 1 << 20;
+
+    private final int columns;
+
+    public CsvParser(int columns) {
+        if (columns < 1) {
+            throw new IllegalArgumentException("Column count must be at least 1, got " + columns);
+        }
+        this.columns = columns;
+    }
+
+    public CsvTable parse(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return parse(in::read, estimateRows(Files.size(file)), true);
+        }
+    }
+
+    public CsvTable parse(InputStream in) throws IOException {
+        return parse(in::read, 1024, true);
+    }
+
+    public List<CsvTable> parseChunks(Path file, int threads) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1, got " + threads);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int chunks = (int) Math.max(1, Math.min(threads, size / MIN_CHUNK_BYTES));
+            if (chunks == 1) {
+                return List.of(parse(file));
+            }
+
+            long[] boundaries = new long[chunks + 1];
+            boundaries[chunks] = size;
+            for (int c = 1; c < chunks; c++) {
+                boundaries[c] = Math.max(boundaries[c - 1], nextLineStart(channel, size * c / chunks));
+            }
+
+            List<Callable<CsvTable>> tasks = new ArrayList<>(chunks);
+            for (int c = 0; c < chunks; c++) {
+                long from = boundaries[c];
+                long to = boundaries[c + 1];
+                boolean header = c == 0;
+                tasks.add(() -> parse(regionSource(channel, from, to), estimateRows(to - from), header));
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(chunks);
+            try {
+                List<Future<CsvTable>> futures = executor.invokeAll(tasks);
+                List<CsvTable> tables = new ArrayList<>(chunks);
+                for (Future<CsvTable> future : futures) {
+                    tables.add(future.get());
+                }
+                return tables;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Parsing " + file + " was interrupted", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IOException("Parsing " + file + " failed", cause);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private int estimateRows(long bytes) {
+        long estimate = bytes / ((long) columns * BYTES_PER_CELL_ESTIMATE);
+        return (int) Math.min(estimate, Integer.MAX_VALUE / columns);
+    }
+
+    private static long nextLineStart(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long size = channel.size();
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n' || b == '\r') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static ByteSource regionSource(FileChannel channel, long from, long to) {
+        long[] position = { from };
+        return (buffer, offset, length) -> {
+            long remaining = to - position[0];
+            if (remaining <= 0) {
+                return -1;
+            }
+            ByteBuffer target = ByteBuffer.wrap(buffer, offset, (int) Math.min(length, remaining));
+            int read = channel.read(target, position[0]);
+            if (read > 0) {
+                position[0] += read;
+            }
+            return read;
+        };
+    }
+
+    private CsvTable parse(ByteSource in, int expectedRows, boolean skipHeader) throws IOException {
+        CsvTable table = new CsvTable(columns, expectedRows);
+        LineReader lines = new LineReader(in);
+        if (skipHeader) {
+            lines.next();
+        }
+        while (lines.next()) {
+            parseLine(lines.buffer, lines.lineStart, lines.lineEnd, table);
+        }
+        table.trim();
+        return table;
+    }
+
+    RowReader openRows(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        try {
+            LineReader lines = new LineReader(in::read);
+            lines.next();
+            return new RowReader(lines, in);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    void parseLine(byte[] buffer, int from, int to, CsvTable table) {
+        if (isBlank(buffer, from, to)) {
+            return;
+        }
+
+        int column = 0;
+        int fieldStart = from;
+        for (int i = from; i <= to && column < columns; i++) {
+            if (i == to || buffer[i] == ',') {
+                parseField(buffer, fieldStart, i, column, table);
+                column++;
+                fieldStart = i + 1;
+            }
+        }
+        for (; column < columns; column++) {
+            table.setMissing(column);
+        }
+        table.endRow();
+    }
+
+    private static void parseField(byte[] buffer, int from, int to, int column, CsvTable table) {
+        if (isBlank(buffer, from, to)) {
+            table.setMissing(column);
+            return;
+        }
+        try {
+            table.set(column, FastDoubleParser.parseDouble(buffer, from, to));
+        } catch (NumberFormatException e) {
+            table.setMissing(column);
+        }
+    }
+
+    private static boolean isBlank(byte[] buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if ((buffer[i] & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    final class RowReader implements Closeable {
+
+        private final LineReader lines;
+        private final InputStream in;
+
+        private RowReader(LineReader lines, InputStream in) {
+            this.lines = lines;
+            this.in = in;
+        }
+
+        boolean next(double[] values, boolean[] missing) throws IOException {
+            while (lines.next()) {
+                byte[] buffer = lines.buffer;
+                int from = lines.lineStart;
+                int to = lines.lineEnd;
+                if (isBlank(buffer, from, to)) {
+                    continue;
+                }
+
+                int column = 0;
+                int fieldStart = from;
+                for (int i = from; i <= to && column < columns; i++) {
+                    if (i == to || buffer[i] == ',') {
+                        missing[column] = isBlank(buffer, fieldStart, i);
+                        if (!missing[column]) {
+                            try {
+                                values[column] = FastDoubleParser.parseDouble(buffer, fieldStart, i);
+                            } catch (NumberFormatException e) {
+                                missing[column] = true;
+                            }
+                        }
+                        column++;
+                        fieldStart = i + 1;
+                    }
+                }
+                for (; column < columns; column++) {
+                    missing[column] = true;
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final class LineReader {
+
+        private final ByteSource in;
+        private byte[] buffer = new byte[BUFFER_SIZE];
+        private int start;
+        private int scan;
+        private int limit;
+        private boolean eof;
+        private int lineStart;
+        private int lineEnd;
+
+        private LineReader(ByteSource in) {
+            this.in = in;
+        }
+
+        private boolean next() throws IOException {
+            while (true) {
+                byte[] bytes = buffer;
+                int end = scan;
+                while (end < limit && bytes[end] != '\n' && bytes[end] != '\r') {
+                    end++;
+                }
+
+                if (end < limit) {
+                    lineStart = start;
+                    lineEnd = end;
+                    start = end + 1;
+                    scan = start;
+                    return true;
+                }
+
+                if (eof) {
+                    if (start < limit) {
+                        lineStart = start;
+                        lineEnd = limit;
+                        start = limit;
+                        return true;
+                    }
+                    return false;
+                }
+
+                if (start > 0) {
+                    System.arraycopy(buffer, start, buffer, 0, limit - start);
+                    limit -= start;
+                    start = 0;
+                } else if (limit == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                scan = limit;
+
+                int read = in.read(buffer, limit, buffer.length - limit);
+                if (read < 0) {
+                    eof = true;
+                } else {
+                    limit += read;
+                }
+            }
+        }
+    }
+
+    private interface ByteSource {
+
+        int read(byte[] buffer, int offset, int length) throws IOException;
+    }
+}
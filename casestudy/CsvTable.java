@@ -0,0 +1,117 @@
+package casestudy;
+
+import java.util.Arrays;
+import java.util.List;
+
+public final class CsvTable {
+
+    private final int columns;
+    private double[] values;
+    private long[] missingCells;
+    private int missingCount;
+    private int rows;
+    private final double[] columnSums;
+    private final long[] columnCounts;
+
+    CsvTable(int columns, int expectedRows) {
+        this.columns = columns;
+        this.values = new double[Math.max(1, expectedRows) * columns];
+        this.missingCells = new long[16];
+        this.columnSums = new double[columns];
+        this.columnCounts = new long[columns];
+    }
+
+    void set(int column, double value) {
+        int index = rows * columns + column;
+        if (index >= values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, index + columns));
+        }
+        values[index] = value;
+        columnSums[column] += value;
+        columnCounts[column]++;
+    }
+
+    void setMissing(int column) {
+        long cell = (long) rows * columns + column;
+        if (cell >= values.length) {
+            values = Arrays.copyOf(values, (int) Math.max(values.length * 2L, cell + columns));
+        }
+        values[(int) cell] = Double.NaN;
+        if (missingCount == missingCells.length) {
+            missingCells = Arrays.copyOf(missingCells, missingCount * 2);
+        }
+        missingCells[missingCount++] = cell;
+    }
+
+    void endRow() {
+        rows++;
+    }
+
+    void trim() {
+        if (values.length != rows * columns) {
+            values = Arrays.copyOf(values, rows * columns);
+        }
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public int getColumnCount() {
+        return columns;
+    }
+
+    public double getValue(int row, int column) {
+        return values[row * columns + column];
+    }
+
+    public boolean isMissing(int row, int column) {
+        return Arrays.binarySearch(missingCells, 0, missingCount, (long) row * columns + column) >= 0;
+    }
+
+    public int getMissingCount() {
+        return missingCount;
+    }
+
+    public double[] getColumnMeans() {
+        double[] means = new double[columns];
+        for (int i = 0; i < columns; i++) {
+            if (columnCounts[i] > 0) {
+                means[i] = columnSums[i] / columnCounts[i];
+            }
+        }
+        return means;
+    }
+
+    public static double[] getColumnMeans(List<CsvTable> chunks) {
+        int columns = chunks.get(0).columns;
+        double[] sums = new double[columns];
+        long[] counts = new long[columns];
+        for (CsvTable chunk : chunks) {
+            if (chunk.columns != columns) {
+                throw new IllegalArgumentException(
+                        "Chunks have different column counts: " + columns + " vs " + chunk.columns);
+            }
+            for (int i = 0; i < columns; i++) {
+                sums[i] += chunk.columnSums[i];
+                counts[i] += chunk.columnCounts[i];
+            }
+        }
+
+        double[] means = new double[columns];
+        for (int i = 0; i < columns; i++) {
+            if (counts[i] > 0) {
+                means[i] = sums[i] / counts[i];
+            }
+        }
+        return means;
+    }
+
+    double[] values() {
+        return values;
+    }
+
+    long[] missingCells() {
+        return missingCells;
+    }
+}
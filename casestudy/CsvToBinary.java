@@ -0,0 +1,94 @@
+package casestudy;
+
+import nn.data.BinaryDataset;
+import nn.data.handlers.MissingValueHandler;
+import nn.data.handlers.SkipRowHandler;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+public class CsvToBinary {
+
+    public static void convert(Path csv, Path binary, int inputColumns, int outputColumns,
+            MissingValueHandler handler, BinaryDataset.Layout layout) throws IOException {
+        Path temp = binary.resolveSibling(binary.getFileName() + ".tmp");
+        boolean moved = false;
+        try {
+            BinaryDataset.write(temp, new CsvDataSource(csv, inputColumns, outputColumns, handler),
+                    readHeader(csv, inputColumns + outputColumns), layout);
+            Files.move(temp, binary, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Cannot convert " + csv + ": " + e.getMessage(), e);
+        } finally {
+            if (!moved) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    public static BinaryDataset openCached(Path csv, int inputColumns, int outputColumns,
+            MissingValueHandler handler) throws IOException {
+        Path binary = cachePath(csv, handler);
+        if (Files.exists(binary)
+                && Files.getLastModifiedTime(binary).compareTo(Files.getLastModifiedTime(csv)) >= 0) {
+            try {
+                BinaryDataset dataset = BinaryDataset.open(binary);
+                if (dataset.getInputColumns() == inputColumns && dataset.getOutputColumns() == outputColumns) {
+                    return dataset;
+                }
+                dataset.close();
+            } catch (IOException e) {
+                Files.delete(binary);
+            }
+        }
+        convert(csv, binary, inputColumns, outputColumns, handler, BinaryDataset.Layout.ROW_MAJOR);
+        return BinaryDataset.open(binary);
+    }
+
+    static Path cachePath(Path csv, MissingValueHandler handler) {
+        String handlerName = handler.getClass().getSimpleName().replaceAll("[^A-Za-z0-9]", "");
+        return csv.resolveSibling(csv.getFileName() + "." + handlerName + ".nnds");
+    }
+
+    static String[] readHeader(Path csv, int columns) throws IOException {
+        String[] names = new String[columns];
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(csv), StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header != null && header.startsWith("\uFEFF")) {
+                header = header.substring(1);
+            }
+            String[] parts = header != null ? header.split(",") : new String[0];
+            for (int i = 0; i < columns; i++) {
+                names[i] = i < parts.length && !parts[i].trim().isEmpty() ? parts[i].trim() : "column" + i;
+            }
+        }
+        return names;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.out.println("Usage: java casestudy.CsvToBinary <input.csv> <output.nnds> " +
+                    "<inputColumns> <outputColumns> [row|column]");
+            return;
+        }
+
+        BinaryDataset.Layout layout = args.length > 4 && args[4].equalsIgnoreCase("column")
+                ? BinaryDataset.Layout.COLUMN_MAJOR
+                : BinaryDataset.Layout.ROW_MAJOR;
+
+        long start = System.nanoTime();
+        convert(Paths.get(args[0]), Paths.get(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]),
+                new SkipRowHandler(), layout);
+        try (BinaryDataset dataset = BinaryDataset.open(Paths.get(args[1]))) {
+            System.out.println("Wrote " + dataset.getRowCount() + " rows x " + dataset.getColumnCount() +
+                    " columns (" + layout + ") in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+    }
+}
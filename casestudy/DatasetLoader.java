@@ -2,10 +2,9 @@ package casestudy;
 
 import nn.data.handlers.MissingValueHandler;
 import nn.data.handlers.ThrowErrorHandler;
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.List;
 
 public class DatasetLoader {
@@ -26,103 +25,80 @@ public class DatasetLoader {
     }
 
     public void load(String filename, int numInputColumns, int numOutputColumns) throws IOException {
+        load(filename, numInputColumns, numOutputColumns, 1);
+    }
+
+    public void load(String filename, int numInputColumns, int numOutputColumns, int threads) throws IOException {
         this.inputColumns = numInputColumns;
         this.outputColumns = numOutputColumns;
 
-        List<double[]> inputList = new ArrayList<>();
-        List<double[]> expectedList = new ArrayList<>();
-
-        List<String[]> rawRows = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-            String headerLine = reader.readLine();
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty())
-                    continue;
-                String[] parts = line.split(",");
-                rawRows.add(parts);
-            }
+        LoadEvent event = new LoadEvent();
+        event.begin();
+        CsvParser parser = new CsvParser(inputColumns + outputColumns);
+        List<CsvTable> chunks = threads > 1
+                ? parser.parseChunks(Paths.get(filename), threads)
+                : List.of(parser.parse(Paths.get(filename)));
+        columnMeans = CsvTable.getColumnMeans(chunks);
+
+        int totalRows = 0;
+        for (CsvTable chunk : chunks) {
+            totalRows += chunk.getRowCount();
         }
+        inputs = new double[totalRows][];
+        expected = new double[totalRows][];
 
-        calculateColumnMeans(rawRows);
+        int kept = 0;
+        for (CsvTable chunk : chunks) {
+            kept = buildRows(chunk, kept);
+        }
+        if (kept < totalRows) {
+            inputs = Arrays.copyOf(inputs, kept);
+            expected = Arrays.copyOf(expected, kept);
+        }
+        event.commit(filename, kept, totalRows - kept, threads);
+    }
 
-        for (String[] parts : rawRows) {
-            boolean skipRow = false;
+    private int buildRows(CsvTable table, int kept) {
+        int totalColumns = inputColumns + outputColumns;
+        int rows = table.getRowCount();
+        double[] values = table.values();
+        long[] missingCells = table.missingCells();
+        int missingCount = table.getMissingCount();
+        int nextMissing = 0;
+
+        for (int r = 0; r < rows; r++) {
+            int offset = r * totalColumns;
             double[] inputRow = new double[inputColumns];
             double[] expectedRow = new double[outputColumns];
+            System.arraycopy(values, offset, inputRow, 0, inputColumns);
+            System.arraycopy(values, offset + inputColumns, expectedRow, 0, outputColumns);
 
-            for (int i = 0; i < inputColumns; i++) {
-                String value = (i < parts.length) ? parts[i].trim() : "";
-                Double parsed = parseValue(value, i);
-                if (parsed == null) {
-                    skipRow = true;
-                    break;
-                }
-                inputRow[i] = parsed;
-            }
-
-            if (skipRow)
-                continue;
-
-            for (int i = 0; i < outputColumns; i++) {
-                int colIndex = inputColumns + i;
-                String value = (colIndex < parts.length) ? parts[colIndex].trim() : "";
-                Double parsed = parseValue(value, colIndex);
-                if (parsed == null) {
-                    skipRow = true;
-                    break;
+            boolean skipRow = false;
+            long rowEnd = (long) offset + totalColumns;
+            while (nextMissing < missingCount && missingCells[nextMissing] < rowEnd) {
+                if (!skipRow) {
+                    int column = (int) (missingCells[nextMissing] - offset);
+                    Double replacement = handler.handle(column, columnMeans);
+                    if (replacement == null) {
+                        skipRow = true;
+                    } else if (column < inputColumns) {
+                        inputRow[column] = replacement;
+                    } else {
+                        expectedRow[column - inputColumns] = replacement;
+                    }
                 }
-                expectedRow[i] = parsed;
+                nextMissing++;
             }
 
             if (skipRow)
                 continue;
 
-            inputList.add(inputRow);
-            expectedList.add(expectedRow);
+            inputs[kept] = inputRow;
+            expected[kept] = expectedRow;
+            kept++;
         }
 
-        inputs = inputList.toArray(new double[0][]);
-        expected = expectedList.toArray(new double[0][]);
-    }
-
-    private void calculateColumnMeans(List<String[]> rawRows) {
-        int totalColumns = inputColumns + outputColumns;
-        columnMeans = new double[totalColumns];
-        int[] counts = new int[totalColumns];
-
-        for (String[] row : rawRows) {
-            for (int i = 0; i < totalColumns && i < row.length; i++) {
-                String value = row[i].trim();
-                if (!value.isEmpty()) {
-                    try {
-                        columnMeans[i] += Double.parseDouble(value);
-                        counts[i]++;
-                    } catch (NumberFormatException e) {
-                    }
-                }
-            }
-        }
-
-        for (int i = 0; i < totalColumns; i++) {
-            if (counts[i] > 0) {
-                columnMeans[i] /= counts[i];
-            }
-        }
-    }
-
-    private Double parseValue(String value, int column) {
-        if (value == null || value.isEmpty()) {
-            return handler.handle(column, columnMeans);
-        }
-
-        try {
-            return Double.parseDouble(value);
-        } catch (NumberFormatException e) {
-            return handler.handle(column, columnMeans);
-        }
+        return kept;
     }
 
     public double[][] getInputs() {
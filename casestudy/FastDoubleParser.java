@@ -0,0 +1,191 @@
+package casestudy;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+final class FastDoubleParser {
+
+    private static final int MIN_POWER = -342;
+    private static final int MAX_POWER = 308;
+    private static final int MAX_DIGITS = 19;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private static final double[] EXACT_POWERS = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final long[] POWER_HIGH = new long[MAX_POWER - MIN_POWER + 1];
+    private static final long[] POWER_LOW = new long[MAX_POWER - MIN_POWER + 1];
+
+    static {
+        BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        BigInteger limit = BigInteger.ONE.shiftLeft(128);
+        for (int q = MIN_POWER; q <= MAX_POWER; q++) {
+            BigInteger value;
+            if (q >= 0) {
+                value = BigInteger.valueOf(5).pow(q);
+                int shift = 128 - value.bitLength();
+                value = shift >= 0 ? value.shiftLeft(shift) : value.shiftRight(-shift);
+            } else {
+                BigInteger power = BigInteger.valueOf(5).pow(-q);
+                int z = power.subtract(BigInteger.ONE).bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                value = BigInteger.ONE.shiftLeft(b).divide(power).add(BigInteger.ONE);
+                while (value.compareTo(limit) >= 0) {
+                    value = value.shiftRight(1);
+                }
+            }
+            POWER_HIGH[q - MIN_POWER] = value.shiftRight(64).longValue();
+            POWER_LOW[q - MIN_POWER] = value.and(mask).longValue();
+        }
+    }
+
+    private FastDoubleParser() {
+    }
+
+    static double parseDouble(byte[] bytes, int start, int end) {
+        while (start < end && (bytes[start] & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (bytes[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+
+        int i = start;
+        boolean negative = false;
+        if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int anyDigits = 0;
+        int exponent = 0;
+
+        while (i < end && isDigit(bytes[i])) {
+            if (digits > 0 || bytes[i] != '0') {
+                mantissa = mantissa * 10 + (bytes[i] - '0');
+                digits++;
+            }
+            anyDigits++;
+            i++;
+        }
+        if (i < end && bytes[i] == '.') {
+            i++;
+            while (i < end && isDigit(bytes[i])) {
+                if (digits > 0 || bytes[i] != '0') {
+                    mantissa = mantissa * 10 + (bytes[i] - '0');
+                    digits++;
+                }
+                exponent--;
+                anyDigits++;
+                i++;
+            }
+        }
+        if (anyDigits == 0) {
+            return fallback(bytes, start, end);
+        }
+
+        if (i < end && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+                negativeExponent = bytes[i] == '-';
+                i++;
+            }
+            if (i == end || !isDigit(bytes[i])) {
+                return fallback(bytes, start, end);
+            }
+            int explicit = 0;
+            while (i < end && isDigit(bytes[i])) {
+                if (explicit < 100_000) {
+                    explicit = explicit * 10 + (bytes[i] - '0');
+                }
+                i++;
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+        if (i != end || digits > MAX_DIGITS) {
+            return fallback(bytes, start, end);
+        }
+
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        if (Long.compareUnsigned(mantissa, MAX_EXACT_MANTISSA) <= 0 && exponent >= -22 && exponent <= 22) {
+            double value = exponent >= 0 ? mantissa * EXACT_POWERS[exponent] : mantissa / EXACT_POWERS[-exponent];
+            return negative ? -value : value;
+        }
+
+        long bits = eiselLemire(mantissa, exponent);
+        if (bits < 0) {
+            return fallback(bytes, start, end);
+        }
+        double value = Double.longBitsToDouble(bits);
+        return negative ? -value : value;
+    }
+
+    private static long eiselLemire(long mantissa, int exponent) {
+        if (exponent < MIN_POWER) {
+            return 0L;
+        }
+        if (exponent > MAX_POWER) {
+            return 0x7FF0000000000000L;
+        }
+
+        int leadingZeros = Long.numberOfLeadingZeros(mantissa);
+        long w = mantissa << leadingZeros;
+        int index = exponent - MIN_POWER;
+
+        long high = unsignedMultiplyHigh(w, POWER_HIGH[index]);
+        long low = w * POWER_HIGH[index];
+        if ((high & 0x1FF) == 0x1FF) {
+            long secondHigh = unsignedMultiplyHigh(w, POWER_LOW[index]);
+            long sum = low + secondHigh;
+            if (Long.compareUnsigned(secondHigh, sum) > 0) {
+                high++;
+            }
+            low = sum;
+        }
+        if (low == -1L && (exponent < -27 || exponent > 55)) {
+            return -1L;
+        }
+
+        int upperBit = (int) (high >>> 63);
+        long result = high >>> (upperBit + 9);
+        int power2 = (((152170 + 65536) * exponent) >> 16) + 63 + upperBit - leadingZeros + 1023;
+        if (power2 <= 0) {
+            return -1L;
+        }
+
+        if (Long.compareUnsigned(low, 1) <= 0 && exponent >= -4 && exponent <= 23 && (result & 3) == 1
+                && (result << (upperBit + 9)) == high) {
+            result &= ~1L;
+        }
+        result += result & 1;
+        result >>>= 1;
+        if (result >= (1L << 53)) {
+            result = 1L << 52;
+            power2++;
+        }
+        result &= ~(1L << 52);
+        if (power2 >= 0x7FF) {
+            return 0x7FF0000000000000L;
+        }
+        return result | ((long) power2 << 52);
+    }
+
+    private static long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static double fallback(byte[] bytes, int start, int end) {
+        return Double.parseDouble(new String(bytes, start, end - start, StandardCharsets.ISO_8859_1));
+    }
+}
@@ -0,0 +1,36 @@
+package casestudy;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("casestudy.DatasetLoad")
+@Label("Dataset Load")
+@Category({ "Neural Network", "Data" })
+@StackTrace(false)
+final class LoadEvent extends jdk.jfr.Event {
+
+    @Label("File")
+    String file;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Skipped Rows")
+    int skippedRows;
+
+    @Label("Threads")
+    int threads;
+
+    void commit(String file, int rows, int skippedRows, int threads) {
+        end();
+        if (shouldCommit()) {
+            this.file = file;
+            this.rows = rows;
+            this.skippedRows = skippedRows;
+            this.threads = threads;
+            commit();
+        }
+    }
+}
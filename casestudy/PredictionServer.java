@@ -0,0 +1,383 @@
+package casestudy;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import nn.core.InferenceModel;
+import nn.core.ModelFile;
+import nn.data.DataNormalizer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class PredictionServer implements AutoCloseable {
+
+    private static final int BACKLOG = 16384;
+    private static final int MAX_BODY_BYTES = 4 << 20;
+    private static final int QUEUED_PER_THREAD = 64;
+    private static final String JSON = "application/json";
+    private static final String CSV = "text/csv";
+
+    private final InferenceModel model;
+    private final DataNormalizer normalizer;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private HttpServer server;
+    private ExecutorService executor;
+    private boolean virtualThreads;
+    private long startNanos;
+
+    public PredictionServer(InferenceModel model, DataNormalizer normalizer) {
+        if (normalizer == null || normalizer.getInputStatistics() == null) {
+            throw new IllegalArgumentException("Prediction server needs a fitted normalizer");
+        }
+        if (normalizer.getInputStatistics().getColumnCount() != model.getInputSize()
+                || normalizer.getOutputStatistics().getColumnCount() != model.getOutputSize()) {
+            throw new IllegalArgumentException("Normalizer columns don't match the model's input and output sizes");
+        }
+        this.model = model;
+        this.normalizer = normalizer;
+    }
+
+    public PredictionServer(ModelFile modelFile) {
+        this(modelFile.toInferenceModel(), modelFile.getNormalizer());
+    }
+
+    public synchronized PredictionServer start(int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Prediction server is already running");
+        }
+        HttpServer created = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        executor = requestExecutor();
+        created.setExecutor(executor);
+        created.createContext("/predict", this::handlePredict);
+        created.createContext("/metrics", this::handleMetrics);
+        startNanos = System.nanoTime();
+        created.start();
+        server = created;
+        return this;
+    }
+
+    public synchronized int getPort() {
+        if (server == null) {
+            throw new IllegalStateException("Prediction server is not running");
+        }
+        return server.getAddress().getPort();
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    private ExecutorService requestExecutor() {
+        try {
+            ExecutorService virtual = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            virtualThreads = true;
+            return virtual;
+        } catch (ReflectiveOperationException e) {
+            virtualThreads = false;
+            int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+            return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(threads * QUEUED_PER_THREAD), task -> {
+                        Thread thread = new Thread(task, "prediction-server");
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+    }
+
+    private void handlePredict(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        boolean served = false;
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendError(exchange, 405, "Use POST to request predictions");
+                return;
+            }
+            byte[] body = readBody(exchange.getRequestBody());
+            if (body == null) {
+                sendError(exchange, 413, "Request body exceeds " + MAX_BODY_BYTES + " bytes");
+                return;
+            }
+
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            boolean csv = contentType != null && contentType.startsWith(CSV);
+            double[][] inputs;
+            try {
+                inputs = csv ? parseCsv(body) : parseJson(body);
+                checkRows(inputs);
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+                return;
+            }
+
+            double[][] outputs = model.predictBatch(normalizer.normalizeInputsInPlace(inputs));
+            for (int r = 0; r < outputs.length; r++) {
+                outputs[r] = normalizer.denormalizeOutput(outputs[r]);
+            }
+            send(exchange, 200, csv ? CSV : JSON, csv ? formatCsv(outputs) : formatJson(outputs));
+            rows.add(outputs.length);
+            served = true;
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, "Prediction failed: " + e);
+        } finally {
+            exchange.close();
+            if (!served) {
+                errors.increment();
+            }
+            latencies.record((System.nanoTime() - start) / 1000);
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                sendError(exchange, 405, "Use GET to read metrics");
+                return;
+            }
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            long requests = latencies.getCount();
+            long predicted = rows.sum();
+            String metrics = "{\"requests\":" + requests
+                    + ",\"rows\":" + predicted
+                    + ",\"errors\":" + errors.sum()
+                    + ",\"uptimeSeconds\":" + seconds
+                    + ",\"requestsPerSecond\":" + requests / seconds
+                    + ",\"rowsPerSecond\":" + predicted / seconds
+                    + ",\"latencyMicros\":{\"p50\":" + latencies.percentile(50)
+                    + ",\"p90\":" + latencies.percentile(90)
+                    + ",\"p99\":" + latencies.percentile(99)
+                    + ",\"p999\":" + latencies.percentile(99.9)
+                    + ",\"max\":" + latencies.getMax()
+                    + "},\"virtualThreads\":" + virtualThreads + "}";
+            send(exchange, 200, JSON, metrics);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void checkRows(double[][] inputs) {
+        if (inputs.length == 0) {
+            throw new IllegalArgumentException("Request has no rows");
+        }
+        for (int r = 0; r < inputs.length; r++) {
+            if (inputs[r].length != model.getInputSize()) {
+                throw new IllegalArgumentException(
+                        "Row " + r + " has " + inputs[r].length + " values, expected " + model.getInputSize());
+            }
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder json = new StringBuilder("{\"error\":\"");
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < ' ') {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        send(exchange, status, JSON, json.append("\"}").toString());
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static byte[] readBody(InputStream in) throws IOException {
+        byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+        return body.length > MAX_BODY_BYTES ? null : body;
+    }
+
+    static double[][] parseCsv(byte[] body) {
+        List<double[]> rows = new ArrayList<>();
+        double[] row = new double[8];
+        int start = 0;
+        while (start < body.length) {
+            int end = start;
+            while (end < body.length && body[end] != '\n') {
+                end++;
+            }
+            if (isBlank(body, start, end)) {
+                start = end + 1;
+                continue;
+            }
+            int columns = 0;
+            int cell = start;
+            for (int i = start; i <= end; i++) {
+                if (i == end || body[i] == ',') {
+                    if (columns == row.length) {
+                        row = Arrays.copyOf(row, columns * 2);
+                    }
+                    row[columns++] = parseNumber(body, cell, i);
+                    cell = i + 1;
+                }
+            }
+            rows.add(Arrays.copyOf(row, columns));
+            start = end + 1;
+        }
+        return rows.toArray(new double[0][]);
+    }
+
+    static double[][] parseJson(byte[] body) {
+        int open = skipWhitespace(body, 0);
+        int[] position = { open };
+        expect(body, position, '[');
+        List<double[]> rows = new ArrayList<>();
+        if (peek(body, position) == '[') {
+            do {
+                rows.add(parseJsonRow(body, position));
+            } while (next(body, position, ']') == ',');
+        } else {
+            position[0] = open;
+            rows.add(parseJsonRow(body, position));
+        }
+        if (skipWhitespace(body, position[0]) != body.length) {
+            throw new IllegalArgumentException("Unexpected content after JSON array");
+        }
+        return rows.toArray(new double[0][]);
+    }
+
+    private static double[] parseJsonRow(byte[] body, int[] position) {
+        expect(body, position, '[');
+        double[] row = new double[8];
+        int columns = 0;
+        if (peek(body, position) == ']') {
+            position[0]++;
+            return new double[0];
+        }
+        do {
+            int start = position[0];
+            int end = start;
+            while (end < body.length && body[end] != ',' && body[end] != ']') {
+                end++;
+            }
+            if (columns == row.length) {
+                row = Arrays.copyOf(row, columns * 2);
+            }
+            row[columns++] = parseNumber(body, start, end);
+            position[0] = end;
+        } while (next(body, position, ']') == ',');
+        return Arrays.copyOf(row, columns);
+    }
+
+    private static double parseNumber(byte[] body, int start, int end) {
+        if (isBlank(body, start, end)) {
+            throw new IllegalArgumentException("Missing value at byte " + start);
+        }
+        try {
+            return FastDoubleParser.parseDouble(body, start, end);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                    "Invalid number '" + new String(body, start, end - start, StandardCharsets.UTF_8).trim() + "'");
+        }
+    }
+
+    private static void expect(byte[] body, int[] position, char expected) {
+        int i = skipWhitespace(body, position[0]);
+        if (i >= body.length || body[i] != expected) {
+            throw new IllegalArgumentException("Expected '" + expected + "' at byte " + i);
+        }
+        position[0] = i + 1;
+    }
+
+    private static int peek(byte[] body, int[] position) {
+        position[0] = skipWhitespace(body, position[0]);
+        return position[0] < body.length ? body[position[0]] : -1;
+    }
+
+    private static int next(byte[] body, int[] position, char close) {
+        int c = peek(body, position);
+        if (c != ',' && c != close) {
+            throw new IllegalArgumentException("Expected ',' or '" + close + "' at byte " + position[0]);
+        }
+        position[0]++;
+        return c;
+    }
+
+    private static int skipWhitespace(byte[] body, int i) {
+        while (i < body.length && (body[i] & 0xFF) <= ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isBlank(byte[] body, int start, int end) {
+        return skipWhitespace(body, start) >= end;
+    }
+
+    private static String formatJson(double[][] outputs) {
+        StringBuilder json = new StringBuilder(outputs.length * 24 + 16).append("{\"predictions\":[");
+        for (int r = 0; r < outputs.length; r++) {
+            json.append(r > 0 ? ",[" : "[");
+            for (int c = 0; c < outputs[r].length; c++) {
+                if (c > 0) {
+                    json.append(',');
+                }
+                double value = outputs[r][c];
+                if (Double.isFinite(value)) {
+                    json.append(value);
+                } else {
+                    json.append("null");
+                }
+            }
+            json.append(']');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String formatCsv(double[][] outputs) {
+        StringBuilder csv = new StringBuilder(outputs.length * 24);
+        for (double[] row : outputs) {
+            for (int c = 0; c < row.length; c++) {
+                if (c > 0) {
+                    csv.append(',');
+                }
+                csv.append(row[c]);
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path modelPath = Paths.get(args.length > 0 ? args[0] : "casestudy/data/study_time_model.nnm");
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+        PredictionServer server = new PredictionServer(ModelFile.read(modelPath)).start(port);
+        System.out.println("Serving " + modelPath + " on http://localhost:" + server.getPort() + "/predict"
+                + (server.usesVirtualThreads() ? " (virtual threads)" : " (platform threads)"));
+    }
+}
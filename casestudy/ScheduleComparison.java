@@ -0,0 +1,120 @@
+package casestudy;
+
+import nn.core.Layer;
+import nn.core.NeuralNetwork;
+import nn.activation.ReLU;
+import nn.activation.Linear;
+import nn.initialization.HeInitializer;
+import nn.loss.MeanSquaredError;
+import nn.data.DataNormalizer;
+import nn.data.DataSplitter;
+import nn.data.DataSplitter.SplitResult;
+import nn.data.handlers.SkipRowHandler;
+import nn.optimizer.Momentum;
+import nn.training.CosineAnnealing;
+import nn.training.ExponentialDecay;
+import nn.training.LearningRateSchedule;
+import nn.training.LinearWarmup;
+import nn.training.RangeTestResult;
+import nn.training.StepDecay;
+import nn.training.Trainer;
+import nn.training.TrainingConfig;
+import java.util.Random;
+
+public class ScheduleComparison {
+
+    private static final double TARGET_LOSS = 1e-4;
+    private static final int MAX_EPOCHS = 300;
+
+    public static void main(String[] args) throws Exception {
+        DatasetLoader loader = new DatasetLoader(new SkipRowHandler());
+        loader.load("casestudy/data/study_time_recommendation_dataset.csv", 5, 1);
+        compare("study-time dataset", loader.getInputs(), loader.getExpected());
+
+        int[] syntheticSizes = { 10_000, 50_000 };
+        for (int size : syntheticSizes) {
+            double[][] inputs = new double[size][5];
+            double[][] expected = new double[size][1];
+            generate(inputs, expected, new Random(size));
+            compare("synthetic " + size + " rows", inputs, expected);
+        }
+    }
+
+    private static void compare(String name, double[][] rawInputs, double[][] rawExpected) {
+        DataNormalizer normalizer = new DataNormalizer();
+        normalizer.fit(rawInputs, rawExpected);
+        SplitResult data = new DataSplitter().split(normalizer.normalizeInputsInPlace(rawInputs),
+                normalizer.normalizeOutputsInPlace(rawExpected), 0.8, true, 42);
+
+        System.out.println("===========================================");
+        System.out.println("   " + name + " (" + data.trainInputs.length + " train samples)");
+        System.out.println("===========================================");
+
+        RangeTestResult range = new Trainer(createNetwork(), baseConfig(0.01))
+                .learningRateRangeTest(data.trainInputs, data.trainExpected, 1e-5, 1.0, 200);
+        double rate = range.getSuggestedLearningRate();
+        System.out.println("LR range test suggests " + String.format("%.4g", rate) + "\n");
+
+        String[] names = { "constant", "step decay", "exponential decay", "cosine restarts", "warm-up + cosine" };
+        LearningRateSchedule[] schedules = {
+                null,
+                new StepDecay(50, 0.5),
+                new ExponentialDecay(0.98),
+                new CosineAnnealing(20, 2, rate / 100),
+                new LinearWarmup(5, new CosineAnnealing(MAX_EPOCHS, rate / 100))
+        };
+
+        for (int i = 0; i < schedules.length; i++) {
+            Trainer trainer = new Trainer(createNetwork(), baseConfig(rate).setSchedule(schedules[i]));
+            trainer.train(data.trainInputs, data.trainExpected, data.testInputs, data.testExpected);
+
+            String result = trainer.getEpochsToConvergence() >= 0
+                    ? trainer.getEpochsToConvergence() + " epochs, " +
+                            trainer.getTimeToConvergence().toMillis() + " ms"
+                    : "not reached in " + MAX_EPOCHS + " epochs (best " + String.format("%.2e", min(trainer.getValidationLossHistory())) + ")";
+            System.out.println(String.format("%-18s", names[i]) + " -> " + result);
+        }
+        System.out.println();
+    }
+
+    private static double min(double[] values) {
+        double min = Double.POSITIVE_INFINITY;
+        for (double value : values) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    private static TrainingConfig baseConfig(double learningRate) {
+        return new TrainingConfig()
+                .setLearningRate(learningRate)
+                .setEpochs(MAX_EPOCHS)
+                .setBatchSize(4)
+                .setOptimizer(new Momentum(0.9, true))
+                .setConvergenceLoss(TARGET_LOSS)
+                .setTargetLoss(TARGET_LOSS)
+                .setSeed(42)
+                .setVerbose(false);
+    }
+
+    private static NeuralNetwork createNetwork() {
+        NeuralNetwork network = new NeuralNetwork(new MeanSquaredError());
+        network.addLayer(new Layer(5, 8, new ReLU(), new HeInitializer(1)));
+        network.addLayer(new Layer(8, 1, new Linear(), new HeInitializer(2)));
+        return network;
+    }
+
+    private static void generate(double[][] inputs, double[][] expected, Random random) {
+        for (int i = 0; i < inputs.length; i++) {
+            double studied = random.nextDouble() * 6;
+            double slept = 4 + random.nextDouble() * 5;
+            double difficulty = random.nextDouble();
+            double quiz = 40 + random.nextDouble() * 60;
+            double stress = random.nextDouble();
+            inputs[i] = new double[] { studied, slept, difficulty, quiz, stress };
+            double hours = 1.5 + 2.5 * difficulty + 1.5 * stress - 0.02 * (quiz - 70)
+                    - 0.2 * Math.max(0, studied - 3) + 0.1 * (7 - slept);
+            expected[i][0] = Math.max(0.5, Math.min(6, hours));
+        }
+    }
+}
@@ -1,16 +1,22 @@
 package casestudy;
 
 import nn.core.Layer;
+import nn.core.ModelFile;
 import nn.core.NeuralNetwork;
 import nn.activation.ReLU;
 import nn.activation.Linear;
 import nn.loss.MeanSquaredError;
+import nn.data.BinaryDataset;
 import nn.data.DataNormalizer;
 import nn.data.DataSplitter;
 import nn.data.DataSplitter.SplitResult;
 import nn.data.handlers.SkipRowHandler;
 import nn.training.Trainer;
 import nn.training.TrainingConfig;
+import nn.optimizer.Momentum;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 public class SubjectStudyRecommenderApp {
 
@@ -20,19 +26,30 @@ public class SubjectStudyRecommenderApp {
         System.out.println("===========================================\n");
 
         try {
-            System.out.println("Loading data...");
-            DatasetLoader loader = new DatasetLoader(new SkipRowHandler());
-            loader.load("casestudy/data/study_time_recommendation_dataset.csv", 5, 1);
-
-            double[][] rawInputs = loader.getInputs();
-            double[][] rawExpected = loader.getExpected();
-            System.out.println("Loaded " + loader.getSampleCount() + " samples with 5 features.\n");
+            Path csv = Paths.get("casestudy/data/study_time_recommendation_dataset.csv");
+            Path modelPath = Paths.get("casestudy/data/study_time_model.nnm");
+            ModelFile saved = null;
+            if (Files.exists(modelPath)
+                    && Files.getLastModifiedTime(modelPath).compareTo(Files.getLastModifiedTime(csv)) >= 0) {
+                saved = ModelFile.read(modelPath);
+            }
 
-            System.out.println("Normalizing data...");
-            DataNormalizer normalizer = new DataNormalizer();
-            normalizer.fit(rawInputs, rawExpected);
-            double[][] normalizedInputs = normalizer.normalizeInputs(rawInputs);
-            double[][] normalizedExpected = normalizer.normalizeOutputs(rawExpected);
+            System.out.println("Loading data...");
+            double[][] rawInputs;
+            double[][] rawExpected;
+            DataNormalizer normalizer = saved != null ? saved.getNormalizer() : new DataNormalizer();
+            try (BinaryDataset dataset = CsvToBinary.openCached(csv, 5, 1, new SkipRowHandler())) {
+                rawInputs = dataset.getInputs();
+                rawExpected = dataset.getExpected();
+                System.out.println("Loaded " + dataset.getRowCount() + " samples with 5 features.\n");
+
+                System.out.println("Normalizing data...");
+                if (saved == null) {
+                    normalizer.fit(dataset);
+                }
+            }
+            double[][] normalizedInputs = normalizer.normalizeInputsInPlace(rawInputs);
+            double[][] normalizedExpected = normalizer.normalizeOutputsInPlace(rawExpected);
 
             System.out.println("Splitting data (80% train, 20% test)...");
             DataSplitter splitter = new DataSplitter();
@@ -40,21 +57,35 @@ public class SubjectStudyRecommenderApp {
             System.out.println("Train samples: " + data.trainInputs.length +
                     ", Test samples: " + data.testInputs.length + "\n");
 
-            System.out.println("Creating neural network...");
-            System.out.println("Architecture: 5 -> 8 (ReLU) -> 1 (Linear)\n");
-            NeuralNetwork network = new NeuralNetwork(new MeanSquaredError());
-            network.addLayer(new Layer(5, 8, new ReLU()));
-            network.addLayer(new Layer(8, 1, new Linear()));
+            NeuralNetwork network;
+            if (saved != null) {
+                System.out.println("Loaded trained model from " + modelPath);
+                network = saved.toNetwork();
+            } else {
+                System.out.println("Creating neural network...");
+                System.out.println("Architecture: 5 -> 8 (ReLU) -> 1 (Linear)\n");
+                network = new NeuralNetwork(new MeanSquaredError());
+                network.addLayer(new Layer(5, 8, new ReLU()));
+                network.addLayer(new Layer(8, 1, new Linear()));
+            }
 
-            System.out.println("Training...");
             TrainingConfig config = new TrainingConfig()
                     .setLearningRate(0.01)
                     .setEpochs(1000)
-                    .setPrintEvery(200)
+                    .setPatience(20)
+                    .setMinDelta(1e-7)
+                    .setRestoreBestWeights(true)
+                    .setPrintEvery(40)
+                    .setOptimizer(new Momentum(0.9, true))
                     .setVerbose(true);
 
             Trainer trainer = new Trainer(network, config);
-            trainer.train(data.trainInputs, data.trainExpected);
+            if (saved == null) {
+                System.out.println("Training...");
+                trainer.train(data.trainInputs, data.trainExpected);
+                ModelFile.write(modelPath, network, normalizer);
+                System.out.println("Saved model to " + modelPath);
+            }
 
             System.out.println("\nEvaluating on test set...");
             double testLoss = trainer.evaluate(data.testInputs, data.testExpected);
@@ -89,6 +120,13 @@ public class SubjectStudyRecommenderApp {
             System.out.println("   Training Complete!");
             System.out.println("===========================================");
 
+            if (args.length > 0 && args[0].equals("--serve")) {
+                int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+                PredictionServer server = new PredictionServer(network.compileForInference(), normalizer).start(port);
+                System.out.println("\nServing predictions on http://localhost:" + server.getPort() + "/predict"
+                        + (server.usesVirtualThreads() ? " (virtual threads)" : " (platform threads)"));
+            }
+
         } catch (Exception e) {
             System.err.println("Error: " + e.getMessage());
             e.printStackTrace();
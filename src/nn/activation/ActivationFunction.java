@@ -9,4 +9,21 @@ public interface ActivationFunction {
     double[] activate(double[] input);
 
     double[] derivative(double[] input);
+
+    default void activate(double[] input, int inputOffset, double[] result, int resultOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            result[resultOffset + i] = activate(input[inputOffset + i]);
+        }
+    }
+
+    default void activateInPlace(double[] buffer, int offset, int length) {
+        activate(buffer, offset, buffer, offset, length);
+    }
+
+    default void multiplyDerivative(double[] weightedSum, double[] output, double[] gradient,
+            double[] result, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            result[i] = gradient[i] * derivative(weightedSum[i]);
+        }
+    }
 }
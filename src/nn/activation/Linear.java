@@ -25,4 +25,19 @@ public class Linear implements ActivationFunction {
         }
         return result;
     }
+
+    @Override
+    public void activate(double[] input, int inputOffset, double[] result, int resultOffset, int length) {
+        if (input != result || inputOffset != resultOffset) {
+            System.arraycopy(input, inputOffset, result, resultOffset, length);
+        }
+    }
+
+    @Override
+    public void multiplyDerivative(double[] weightedSum, double[] output, double[] gradient,
+            double[] result, int offset, int length) {
+        if (gradient != result) {
+            System.arraycopy(gradient, offset, result, offset, length);
+        }
+    }
 }
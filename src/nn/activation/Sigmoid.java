@@ -1,5 +1,7 @@
 package nn.activation;
 
+import nn.util.ArrayKernels;
+
 public class Sigmoid implements ActivationFunction {
 
     @Override
@@ -16,18 +18,25 @@ public class Sigmoid implements ActivationFunction {
     @Override
     public double[] activate(double[] input) {
         double[] result = new double[input.length];
-        for (int i = 0; i < input.length; i++) {
-            result[i] = activate(input[i]);
-        }
+        ArrayKernels.get().sigmoid(input, 0, result, 0, input.length);
         return result;
     }
 
     @Override
     public double[] derivative(double[] input) {
         double[] result = new double[input.length];
-        for (int i = 0; i < input.length; i++) {
-            result[i] = derivative(input[i]);
-        }
+        ArrayKernels.get().sigmoidDerivative(input, 0, result, 0, input.length);
         return result;
     }
+
+    @Override
+    public void activate(double[] input, int inputOffset, double[] result, int resultOffset, int length) {
+        ArrayKernels.get().sigmoid(input, inputOffset, result, resultOffset, length);
+    }
+
+    @Override
+    public void multiplyDerivative(double[] weightedSum, double[] output, double[] gradient,
+            double[] result, int offset, int length) {
+        ArrayKernels.get().sigmoidGradient(output, offset, gradient, offset, result, offset, length);
+    }
 }
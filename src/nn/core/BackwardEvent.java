@@ -0,0 +1,30 @@
+package nn.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("nn.core.Backward")
+@Label("Backward Pass")
+@Category({ "Neural Network", "Core" })
+@StackTrace(false)
+@Threshold("1 ms")
+final class BackwardEvent extends jdk.jfr.Event {
+
+    @Label("Samples")
+    int samples;
+
+    @Label("Loss")
+    double loss;
+
+    void commit(int samples, double loss) {
+        end();
+        if (shouldCommit()) {
+            this.samples = samples;
+            this.loss = loss;
+            commit();
+        }
+    }
+}
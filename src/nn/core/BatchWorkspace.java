@@ -0,0 +1,68 @@
+package nn.core;
+
+import java.util.List;
+
+final class BatchWorkspace {
+
+    private final int inputSize;
+    private final int outputSize;
+    private int capacity;
+
+    final LayerWorkspace[] layers;
+    double[] input;
+    double[] expected;
+    double[] outputGradient;
+
+    BatchWorkspace(List<Layer> networkLayers) {
+        this.layers = new LayerWorkspace[networkLayers.size()];
+        for (int i = 0; i < layers.length; i++) {
+            Layer layer = networkLayers.get(i);
+            layers[i] = new LayerWorkspace(layer.getInputSize(), layer.getOutputSize());
+        }
+        this.inputSize = networkLayers.get(0).getInputSize();
+        this.outputSize = networkLayers.get(networkLayers.size() - 1).getOutputSize();
+        ensureCapacity(1);
+    }
+
+    void addGradients(BatchWorkspace other) {
+        if (other.layers.length != layers.length) {
+            throw new IllegalArgumentException("Workspaces belong to networks of different depth");
+        }
+        for (int i = 0; i < layers.length; i++) {
+            double[] target = layers[i].weightGradient;
+            double[] source = other.layers[i].weightGradient;
+            if (target.length != source.length) {
+                throw new IllegalArgumentException("Workspaces belong to networks of different shape");
+            }
+            for (int j = 0; j < target.length; j++) {
+                target[j] += source[j];
+            }
+        }
+    }
+
+    boolean matches(List<Layer> networkLayers) {
+        if (networkLayers.size() != layers.length) {
+            return false;
+        }
+        for (int i = 0; i < layers.length; i++) {
+            Layer layer = networkLayers.get(i);
+            if (!layers[i].matches(layer.getInputSize(), layer.getOutputSize())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void ensureCapacity(int rows) {
+        if (rows <= capacity) {
+            return;
+        }
+        capacity = rows;
+        input = new double[rows * inputSize];
+        expected = new double[rows * outputSize];
+        outputGradient = new double[rows * outputSize];
+        for (LayerWorkspace layer : layers) {
+            layer.ensureCapacity(rows);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package nn.core;
+
+import nn.activation.ActivationFunction;
+import nn.initialization.HeInitializer;
+import nn.initialization.WeightInitializer;
+import nn.util.MatrixUtils;
+
+public class FloatLayer {
+
+    private float[] weights;
+    private ActivationFunction activation;
+
+    private float[] input;
+    private double[] weightedSum;
+    private float[] output;
+    private double[] activationGradient;
+    private double[] inputGradient;
+
+    private int inputSize;
+    private int outputSize;
+
+    public FloatLayer(int inputSize, int outputSize, ActivationFunction activation) {
+        this(inputSize, outputSize, activation, new HeInitializer());
+    }
+
+    public FloatLayer(int inputSize, int outputSize, ActivationFunction activation, WeightInitializer initializer) {
+        this(inputSize, outputSize, activation,
+                MatrixUtils.toFloat(MatrixUtils.toFlat(initializer.initialize(inputSize + 1, outputSize))));
+    }
+
+    private FloatLayer(int inputSize, int outputSize, ActivationFunction activation, float[] weights) {
+        this.inputSize = inputSize;
+        this.outputSize = outputSize;
+        this.activation = activation;
+        this.weights = weights;
+
+        this.input = new float[inputSize];
+        this.weightedSum = new double[outputSize];
+        this.output = new float[outputSize];
+        this.activationGradient = new double[outputSize];
+        this.inputGradient = new double[inputSize];
+    }
+
+    public static FloatLayer fromDouble(Layer layer) {
+        return new FloatLayer(layer.getInputSize(), layer.getOutputSize(), layer.getActivation(),
+                MatrixUtils.toFloat(layer.weights()));
+    }
+
+    public float[] forward(float[] input) {
+        return forwardReusing(input).clone();
+    }
+
+    public float[] forwardReusing(float[] input) {
+        if (input.length != inputSize) {
+            throw new IllegalArgumentException(
+                    "Expected input size " + inputSize + ", got " + input.length);
+        }
+
+        System.arraycopy(input, 0, this.input, 0, inputSize);
+
+        MatrixUtils.multiplyInto(this.input, 0, inputSize,
+                weights, 0, outputSize,
+                weightedSum, 0, outputSize,
+                1, inputSize, outputSize);
+
+        int biasRow = inputSize * outputSize;
+        for (int j = 0; j < outputSize; j++) {
+            weightedSum[j] += weights[biasRow + j];
+            output[j] = (float) activation.activate(weightedSum[j]);
+        }
+
+        return output;
+    }
+
+    public double[] backward(double[] gradient, double learningRate) {
+        return backwardReusing(gradient, learningRate).clone();
+    }
+
+    public double[] backwardReusing(double[] gradient, double learningRate) {
+        if (gradient.length != outputSize) {
+            throw new IllegalArgumentException(
+                    "Expected gradient size " + outputSize + ", got " + gradient.length);
+        }
+
+        for (int j = 0; j < outputSize; j++) {
+            activationGradient[j] = gradient[j] * activation.derivative(weightedSum[j]);
+        }
+
+        for (int i = 0; i <= inputSize; i++) {
+            double x = i < inputSize ? input[i] : 1.0;
+            double scale = x * learningRate;
+            int row = i * outputSize;
+            for (int j = 0; j < outputSize; j++) {
+                weights[row + j] = (float) (weights[row + j] - activationGradient[j] * scale);
+            }
+        }
+
+        for (int i = 0; i < inputSize; i++) {
+            int row = i * outputSize;
+            double sum = 0.0;
+            for (int j = 0; j < outputSize; j++) {
+                sum += weights[row + j] * activationGradient[j];
+            }
+            inputGradient[i] = sum;
+        }
+
+        return inputGradient;
+    }
+
+    public int getInputSize() {
+        return inputSize;
+    }
+
+    public int getOutputSize() {
+        return outputSize;
+    }
+
+    public ActivationFunction getActivation() {
+        return activation;
+    }
+
+    public double[][] getWeights() {
+        return MatrixUtils.fromFlat(MatrixUtils.toDouble(weights), inputSize + 1, outputSize);
+    }
+
+    public double[] getBiases() {
+        double[] biases = new double[outputSize];
+        for (int j = 0; j < outputSize; j++) {
+            biases[j] = weights[inputSize * outputSize + j];
+        }
+        return biases;
+    }
+}
@@ -0,0 +1,134 @@
+package nn.core;
+
+import nn.loss.LossFunction;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FloatNeuralNetwork {
+
+    private List<FloatLayer> layers;
+    private LossFunction lossFunction;
+    private double[] lastOutput;
+    private double[] outputGradient;
+
+    public FloatNeuralNetwork(LossFunction lossFunction) {
+        this.layers = new ArrayList<>();
+        this.lossFunction = lossFunction;
+    }
+
+    public static FloatNeuralNetwork fromDouble(NeuralNetwork network) {
+        FloatNeuralNetwork result = new FloatNeuralNetwork(network.getLossFunction());
+        for (int i = 0; i < network.getLayerCount(); i++) {
+            result.addLayer(FloatLayer.fromDouble(network.getLayer(i)));
+        }
+        return result;
+    }
+
+    public void addLayer(FloatLayer layer) {
+        if (!layers.isEmpty()) {
+            FloatLayer lastLayer = layers.get(layers.size() - 1);
+            if (lastLayer.getOutputSize() != layer.getInputSize()) {
+                throw new IllegalArgumentException(
+                        "Layer input size (" + layer.getInputSize() +
+                                ") doesn't match previous layer output size (" +
+                                lastLayer.getOutputSize() + ")");
+            }
+        }
+        layers.add(layer);
+        lastOutput = null;
+        outputGradient = null;
+    }
+
+    public float[] forward(float[] input) {
+        return forwardReusing(input).clone();
+    }
+
+    private float[] forwardReusing(float[] input) {
+        if (layers.isEmpty()) {
+            throw new IllegalStateException("Network has no layers");
+        }
+
+        if (input.length != layers.get(0).getInputSize()) {
+            throw new IllegalArgumentException(
+                    "Input size (" + input.length +
+                            ") doesn't match first layer input size (" +
+                            layers.get(0).getInputSize() + ")");
+        }
+
+        float[] current = input;
+        for (int i = 0; i < layers.size(); i++) {
+            current = layers.get(i).forwardReusing(current);
+        }
+
+        if (lastOutput == null) {
+            lastOutput = new double[current.length];
+        }
+        for (int j = 0; j < current.length; j++) {
+            lastOutput[j] = current[j];
+        }
+        return current;
+    }
+
+    public double backward(double[] expected, double learningRate) {
+        if (lastOutput == null) {
+            throw new IllegalStateException("Must call forward() before backward()");
+        }
+
+        if (expected.length != lastOutput.length) {
+            throw new IllegalArgumentException(
+                    "Expected size (" + expected.length +
+                            ") doesn't match output size (" + lastOutput.length + ")");
+        }
+
+        if (outputGradient == null) {
+            outputGradient = new double[lastOutput.length];
+        }
+        double loss = lossFunction.computeAndGradient(lastOutput, expected, outputGradient);
+
+        double[] gradient = outputGradient;
+        for (int i = layers.size() - 1; i >= 0; i--) {
+            gradient = layers.get(i).backwardReusing(gradient, learningRate);
+        }
+
+        return loss;
+    }
+
+    public double train(float[] input, double[] expected, double learningRate) {
+        forwardReusing(input);
+        return backward(expected, learningRate);
+    }
+
+    public float[] predict(float[] input) {
+        return forward(input);
+    }
+
+    public double[] predict(double[] input) {
+        float[] converted = new float[input.length];
+        for (int i = 0; i < input.length; i++) {
+            converted[i] = (float) input[i];
+        }
+
+        float[] output = forwardReusing(converted);
+        double[] result = new double[output.length];
+        for (int j = 0; j < output.length; j++) {
+            result[j] = output[j];
+        }
+        return result;
+    }
+
+    public double getLoss(double[] predicted, double[] expected) {
+        return lossFunction.compute(predicted, expected);
+    }
+
+    public LossFunction getLossFunction() {
+        return lossFunction;
+    }
+
+    public int getLayerCount() {
+        return layers.size();
+    }
+
+    public FloatLayer getLayer(int index) {
+        return layers.get(index);
+    }
+}
@@ -0,0 +1,26 @@
+package nn.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("nn.core.Forward")
+@Label("Forward Pass")
+@Category({ "Neural Network", "Core" })
+@StackTrace(false)
+@Threshold("1 ms")
+final class ForwardEvent extends jdk.jfr.Event {
+
+    @Label("Samples")
+    int samples;
+
+    void commit(int samples) {
+        end();
+        if (shouldCommit()) {
+            this.samples = samples;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package nn.core;
+
+import nn.activation.ActivationFunction;
+import nn.util.MatrixUtils;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public final class InferenceModel {
+
+    private static final int BLOCK_ROWS = 64;
+    private static final int PARALLEL_THRESHOLD = 1024;
+
+    private final double[][] weights;
+    private final ActivationFunction[] activations;
+    private final int[] sizes;
+    private final ThreadLocal<double[][]> scratch;
+    private final ThreadLocal<double[][]> blockScratch;
+
+    InferenceModel(List<Layer> layers) {
+        this(sizes(layers), weights(layers), activations(layers));
+    }
+
+    InferenceModel(int[] sizes, double[][] weights, ActivationFunction[] activations) {
+        if (weights.length == 0) {
+            throw new IllegalStateException("Network has no layers");
+        }
+        if (sizes.length != weights.length + 1 || activations.length != weights.length) {
+            throw new IllegalArgumentException("Sizes, weights and activations describe different layer counts");
+        }
+
+        int maxWidth = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i].length != (sizes[i] + 1) * sizes[i + 1]) {
+                throw new IllegalArgumentException(
+                        "Layer " + i + " has " + weights[i].length + " weights, expected " +
+                                (sizes[i] + 1) * sizes[i + 1]);
+            }
+            maxWidth = Math.max(maxWidth, sizes[i + 1]);
+        }
+        this.weights = weights;
+        this.activations = activations;
+        this.sizes = sizes;
+
+        int width = maxWidth;
+        this.scratch = ThreadLocal.withInitial(() -> new double[2][width]);
+        this.blockScratch = ThreadLocal.withInitial(() -> new double[2][BLOCK_ROWS * width]);
+    }
+
+    private static int[] sizes(List<Layer> layers) {
+        if (layers.isEmpty()) {
+            throw new IllegalStateException("Network has no layers");
+        }
+        int[] sizes = new int[layers.size() + 1];
+        sizes[0] = layers.get(0).getInputSize();
+        for (int i = 0; i < layers.size(); i++) {
+            sizes[i + 1] = layers.get(i).getOutputSize();
+        }
+        return sizes;
+    }
+
+    private static double[][] weights(List<Layer> layers) {
+        double[][] weights = new double[layers.size()][];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = layers.get(i).weights();
+        }
+        return weights;
+    }
+
+    private static ActivationFunction[] activations(List<Layer> layers) {
+        ActivationFunction[] activations = new ActivationFunction[layers.size()];
+        for (int i = 0; i < activations.length; i++) {
+            activations[i] = layers.get(i).getActivation();
+        }
+        return activations;
+    }
+
+    public double[] predict(double[] input) {
+        if (input.length != sizes[0]) {
+            throw new IllegalArgumentException(
+                    "Input size (" + input.length +
+                            ") doesn't match first layer input size (" + sizes[0] + ")");
+        }
+
+        ForwardEvent event = new ForwardEvent();
+        event.begin();
+        double[][] buffers = scratch.get();
+        double[] current = input;
+        for (int l = 0; l < weights.length; l++) {
+            double[] next = buffers[l & 1];
+            forwardBlock(l, current, 0, next, 0, 1);
+            current = next;
+        }
+
+        double[] result = new double[getOutputSize()];
+        System.arraycopy(current, 0, result, 0, result.length);
+        event.commit(1);
+        return result;
+    }
+
+    public double[][] predictBatch(double[][] inputs) {
+        return predictBatch(inputs, ForkJoinPool.commonPool());
+    }
+
+    public double[][] predictBatch(double[][] inputs, ForkJoinPool pool) {
+        if (inputs.length == 0) {
+            throw new IllegalArgumentException("Batch cannot be empty");
+        }
+
+        int inputSize = sizes[0];
+        double[] packed = new double[inputs.length * inputSize];
+        for (int r = 0; r < inputs.length; r++) {
+            if (inputs[r].length != inputSize) {
+                throw new IllegalArgumentException(
+                        "Input size (" + inputs[r].length +
+                                ") doesn't match first layer input size (" + inputSize + ")");
+            }
+            System.arraycopy(inputs[r], 0, packed, r * inputSize, inputSize);
+        }
+
+        return MatrixUtils.fromFlat(predictBatch(packed, inputs.length, pool), inputs.length, getOutputSize());
+    }
+
+    public double[] predictBatch(double[] inputs, int rows) {
+        return predictBatch(inputs, rows, ForkJoinPool.commonPool());
+    }
+
+    public double[] predictBatch(double[] inputs, int rows, ForkJoinPool pool) {
+        if (rows <= 0) {
+            throw new IllegalArgumentException("Batch cannot be empty");
+        }
+        if (inputs.length != rows * sizes[0]) {
+            throw new IllegalArgumentException(
+                    "Packed input length (" + inputs.length + ") doesn't match " +
+                            rows + " rows of size " + sizes[0]);
+        }
+
+        ForwardEvent event = new ForwardEvent();
+        event.begin();
+        double[] outputs = new double[rows * getOutputSize()];
+        if (rows < PARALLEL_THRESHOLD || pool.getParallelism() <= 1) {
+            predictRows(inputs, outputs, 0, rows);
+        } else {
+            pool.invoke(new PredictTask(this, inputs, outputs, 0, rows));
+        }
+        event.commit(rows);
+        return outputs;
+    }
+
+    public int getInputSize() {
+        return sizes[0];
+    }
+
+    public int getOutputSize() {
+        return sizes[sizes.length - 1];
+    }
+
+    public int getLayerCount() {
+        return weights.length;
+    }
+
+    private void predictRows(double[] inputs, double[] outputs, int from, int to) {
+        for (int start = from; start < to; start += BLOCK_ROWS) {
+            predictBlock(inputs, outputs, start, Math.min(BLOCK_ROWS, to - start));
+        }
+    }
+
+    private void predictBlock(double[] inputs, double[] outputs, int start, int rows) {
+        double[][] buffers = blockScratch.get();
+        int last = weights.length - 1;
+
+        double[] current = inputs;
+        int offset = start * sizes[0];
+        for (int l = 0; l <= last; l++) {
+            double[] next = l == last ? outputs : buffers[l & 1];
+            int nextOffset = l == last ? start * sizes[l + 1] : 0;
+            forwardBlock(l, current, offset, next, nextOffset, rows);
+            current = next;
+            offset = nextOffset;
+        }
+    }
+
+    private void forwardBlock(int layer, double[] input, int inputOffset,
+            double[] output, int outputOffset, int rows) {
+        int inputSize = sizes[layer];
+        int outputSize = sizes[layer + 1];
+        double[] w = weights[layer];
+        ActivationFunction activation = activations[layer];
+
+        MatrixUtils.multiplyInto(input, inputOffset, inputSize,
+                w, 0, outputSize,
+                output, outputOffset, outputSize,
+                rows, inputSize, outputSize);
+        MatrixUtils.addRowVector(output, outputOffset, outputSize, rows, outputSize,
+                w, inputSize * outputSize);
+
+        activation.activateInPlace(output, outputOffset, rows * outputSize);
+    }
+
+    private static final class PredictTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final InferenceModel model;
+        private final double[] inputs;
+        private final double[] outputs;
+        private final int from;
+        private final int to;
+
+        PredictTask(InferenceModel model, double[] inputs, double[] outputs, int from, int to) {
+            this.model = model;
+            this.inputs = inputs;
+            this.outputs = outputs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BLOCK_ROWS * 4) {
+                model.predictRows(inputs, outputs, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new PredictTask(model, inputs, outputs, from, mid),
+                    new PredictTask(model, inputs, outputs, mid, to));
+        }
+    }
+}
@@ -3,16 +3,23 @@ package nn.core;
 import nn.activation.ActivationFunction;
 import nn.initialization.WeightInitializer;
 import nn.initialization.HeInitializer;
+import nn.optimizer.OptimizerState;
 import nn.util.MatrixUtils;
+import java.util.Arrays;
 
 public class Layer {
 
-    private double[][] weights;
+    private double[] weights;
     private ActivationFunction activation;
 
-    private double[] lastInputWithBias;
-    private double[] lastWeightedSum;
-    private double[] lastOutput;
+    private double[] inputWithBias;
+    private double[] weightedSum;
+    private double[] output;
+    private double[] activationGradient;
+    private double[] inputGradient;
+    private LayerWorkspace batchWorkspace;
+    private OptimizerState optimizerState;
+    private double[] weightGradient;
 
     private int inputSize;
     private int outputSize;
@@ -22,63 +29,211 @@ public class Layer {
     }
 
     public Layer(int inputSize, int outputSize, ActivationFunction activation, WeightInitializer initializer) {
+        this(inputSize, outputSize, activation, MatrixUtils.toFlat(initializer.initialize(inputSize + 1, outputSize)));
+    }
+
+    Layer(int inputSize, int outputSize, ActivationFunction activation, double[] weights) {
+        if (weights.length != (inputSize + 1) * outputSize) {
+            throw new IllegalArgumentException(
+                    "Expected " + (inputSize + 1) * outputSize + " weights, got " + weights.length);
+        }
         this.inputSize = inputSize;
         this.outputSize = outputSize;
         this.activation = activation;
-        this.weights = initializer.initialize(inputSize + 1, outputSize);
+        this.weights = weights;
+
+        this.inputWithBias = new double[inputSize + 1];
+        this.inputWithBias[inputSize] = 1.0;
+        this.weightedSum = new double[outputSize];
+        this.output = new double[outputSize];
+        this.activationGradient = new double[outputSize];
+        this.inputGradient = new double[inputSize];
     }
 
     public double[] forward(double[] input) {
+        return forwardReusing(input).clone();
+    }
+
+    public double[] forwardReusing(double[] input) {
         if (input.length != inputSize) {
             throw new IllegalArgumentException(
                     "Expected input size " + inputSize + ", got " + input.length);
         }
 
-        double[] inputWithBias = new double[inputSize + 1];
         System.arraycopy(input, 0, inputWithBias, 0, inputSize);
-        inputWithBias[inputSize] = 1.0;
-
-        this.lastInputWithBias = inputWithBias.clone();
 
-        double[][] inputMatrix = MatrixUtils.toRowMatrix(inputWithBias);
-        double[][] weightedSumMatrix = MatrixUtils.multiply(inputMatrix, weights);
-        double[] weightedSum = MatrixUtils.flatten(weightedSumMatrix);
+        MatrixUtils.multiplyInto(inputWithBias, 0, inputSize + 1,
+                weights, 0, outputSize,
+                weightedSum, 0, outputSize,
+                1, inputSize + 1, outputSize);
 
-        this.lastWeightedSum = weightedSum.clone();
-        this.lastOutput = activation.activate(weightedSum);
+        activation.activate(weightedSum, 0, output, 0, outputSize);
 
-        return lastOutput.clone();
+        return output;
     }
 
     public double[] backward(double[] gradient, double learningRate) {
+        return backwardReusing(gradient, learningRate).clone();
+    }
+
+    public double[] backwardReusing(double[] gradient, double learningRate) {
+        return backwardReusing(gradient, learningRate, null, 0);
+    }
+
+    double[] backwardReusing(double[] gradient, double learningRate, NetworkProfiler profiler, int index) {
         if (gradient.length != outputSize) {
             throw new IllegalArgumentException(
                     "Expected gradient size " + outputSize + ", got " + gradient.length);
         }
 
-        double[] activationDerivative = activation.derivative(lastWeightedSum);
-        double[] activationGradient = new double[outputSize];
-        for (int i = 0; i < outputSize; i++) {
-            activationGradient[i] = gradient[i] * activationDerivative[i];
+        activation.multiplyDerivative(weightedSum, output, gradient, activationGradient, 0, outputSize);
+
+        long start = profiler != null ? System.nanoTime() : 0;
+        if (optimizerState == null) {
+            MatrixUtils.addOuterProduct(weights, 0, outputSize,
+                    inputWithBias, 0, activationGradient, 0,
+                    inputSize + 1, outputSize, -learningRate);
+        } else {
+            if (weightGradient == null) {
+                weightGradient = new double[weights.length];
+            }
+            Arrays.fill(weightGradient, 0.0);
+            MatrixUtils.addOuterProduct(weightGradient, 0, outputSize,
+                    inputWithBias, 0, activationGradient, 0,
+                    inputSize + 1, outputSize, 1.0);
+            optimizerState.update(weights, weightGradient, learningRate);
+        }
+        if (profiler != null) {
+            profiler.addFusedUpdate(index, System.nanoTime() - start,
+                    Math.sqrt(squaredNorm(inputWithBias) * squaredNorm(activationGradient)));
         }
 
-        double[][] inputT = MatrixUtils.toColumnMatrix(lastInputWithBias);
-        double[][] activationGradMatrix = MatrixUtils.toRowMatrix(activationGradient);
-        double[][] weightGradient = MatrixUtils.multiply(inputT, activationGradMatrix);
+        MatrixUtils.multiplyInto(weights, 0, outputSize,
+                activationGradient, 0, 1,
+                inputGradient, 0, 1,
+                inputSize, outputSize, 1);
 
-        double[][] scaledWeightGrad = MatrixUtils.scale(weightGradient, learningRate);
-        weights = MatrixUtils.subtract(weights, scaledWeightGrad);
+        return inputGradient;
+    }
 
-        double[][] weightsWithoutBias = new double[inputSize][outputSize];
-        for (int i = 0; i < inputSize; i++) {
-            weightsWithoutBias[i] = weights[i].clone();
+    private static double squaredNorm(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value * value;
         }
+        return sum;
+    }
 
-        double[][] weightsT = MatrixUtils.transpose(weightsWithoutBias);
-        double[][] inputGradMatrix = MatrixUtils.multiply(activationGradMatrix, weightsT);
-        double[] inputGradient = MatrixUtils.flatten(inputGradMatrix);
+    public double[][] forwardBatch(double[][] inputs) {
+        int rows = validateBatch(inputs, inputSize, "input");
+        LayerWorkspace ws = batchWorkspace(rows);
 
-        return inputGradient;
+        double[] packed = new double[rows * inputSize];
+        for (int r = 0; r < rows; r++) {
+            System.arraycopy(inputs[r], 0, packed, r * inputSize, inputSize);
+        }
+
+        return MatrixUtils.fromFlat(forwardBatch(packed, rows, ws), rows, outputSize);
+    }
+
+    public double[][] backwardBatch(double[][] gradients, double learningRate) {
+        if (batchWorkspace == null || batchWorkspace.input == null) {
+            throw new IllegalStateException("Must call forwardBatch() before backwardBatch()");
+        }
+        int rows = validateBatch(gradients, outputSize, "gradient");
+        LayerWorkspace ws = batchWorkspace;
+        if (rows != ws.rows) {
+            throw new IllegalArgumentException(
+                    "Gradient batch size (" + rows + ") doesn't match last forward batch size (" +
+                            ws.rows + ")");
+        }
+
+        double[] packed = new double[rows * outputSize];
+        for (int r = 0; r < rows; r++) {
+            System.arraycopy(gradients[r], 0, packed, r * outputSize, outputSize);
+        }
+
+        backwardBatch(packed, rows, ws, true);
+        applyGradient(ws.weightGradient, learningRate);
+
+        return MatrixUtils.fromFlat(ws.inputGradient, rows, inputSize);
+    }
+
+    double[] forwardBatch(double[] input, int rows, LayerWorkspace ws) {
+        ws.input = input;
+        ws.rows = rows;
+
+        MatrixUtils.multiplyInto(input, 0, inputSize,
+                weights, 0, outputSize,
+                ws.weightedSum, 0, outputSize,
+                rows, inputSize, outputSize);
+        MatrixUtils.addRowVector(ws.weightedSum, 0, outputSize, rows, outputSize,
+                weights, inputSize * outputSize);
+
+        activation.activate(ws.weightedSum, 0, ws.output, 0, rows * outputSize);
+
+        return ws.output;
+    }
+
+    double[] backwardBatch(double[] outputGradient, int rows, LayerWorkspace ws, boolean propagate) {
+        activation.multiplyDerivative(ws.weightedSum, ws.output, outputGradient, ws.delta, 0, rows * outputSize);
+
+        MatrixUtils.multiplyTransposedAInto(ws.input, 0, inputSize,
+                ws.delta, 0, outputSize,
+                ws.weightGradient, 0, outputSize,
+                inputSize, rows, outputSize);
+        MatrixUtils.sumRowsInto(ws.delta, 0, outputSize, rows, outputSize,
+                ws.weightGradient, inputSize * outputSize);
+
+        if (propagate) {
+            MatrixUtils.multiplyTransposedBInto(ws.delta, 0, outputSize,
+                    weights, 0, outputSize,
+                    ws.inputGradient, 0, inputSize,
+                    rows, outputSize, inputSize);
+        }
+
+        return ws.inputGradient;
+    }
+
+    void applyGradient(double[] weightGradient, double learningRate) {
+        if (optimizerState == null) {
+            MatrixUtils.addScaledInPlace(weights, weightGradient, -learningRate);
+        } else {
+            optimizerState.update(weights, weightGradient, learningRate);
+        }
+    }
+
+    void setOptimizerState(OptimizerState optimizerState) {
+        this.optimizerState = optimizerState;
+    }
+
+    OptimizerState getOptimizerState() {
+        return optimizerState;
+    }
+
+    int getParameterCount() {
+        return weights.length;
+    }
+
+    private LayerWorkspace batchWorkspace(int rows) {
+        if (batchWorkspace == null) {
+            batchWorkspace = new LayerWorkspace(inputSize, outputSize);
+        }
+        batchWorkspace.ensureCapacity(rows);
+        return batchWorkspace;
+    }
+
+    private static int validateBatch(double[][] batch, int width, String name) {
+        if (batch == null || batch.length == 0) {
+            throw new IllegalArgumentException("Batch cannot be empty");
+        }
+        for (double[] row : batch) {
+            if (row.length != width) {
+                throw new IllegalArgumentException(
+                        "Expected " + name + " size " + width + ", got " + row.length);
+            }
+        }
+        return batch.length;
     }
 
     public int getInputSize() {
@@ -89,15 +244,21 @@ public class Layer {
         return outputSize;
     }
 
+    public ActivationFunction getActivation() {
+        return activation;
+    }
+
+    double[] weights() {
+        return weights;
+    }
+
     public double[][] getWeights() {
-        return MatrixUtils.copy(weights);
+        return MatrixUtils.fromFlat(weights, inputSize + 1, outputSize);
     }
 
     public double[] getBiases() {
         double[] biases = new double[outputSize];
-        for (int j = 0; j < outputSize; j++) {
-            biases[j] = weights[inputSize][j];
-        }
+        System.arraycopy(weights, inputSize * outputSize, biases, 0, outputSize);
         return biases;
     }
 }
@@ -0,0 +1,38 @@
+package nn.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("nn.core.Layer")
+@Label("Layer Pass")
+@Category({ "Neural Network", "Core" })
+@Enabled(false)
+@StackTrace(false)
+final class LayerEvent extends jdk.jfr.Event {
+
+    static final String FORWARD = "forward";
+    static final String BACKWARD = "backward";
+    static final String UPDATE = "update";
+
+    @Label("Layer")
+    int layer;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Samples")
+    int samples;
+
+    void commit(int layer, String phase, int samples) {
+        end();
+        if (shouldCommit()) {
+            this.layer = layer;
+            this.phase = phase;
+            this.samples = samples;
+            commit();
+        }
+    }
+}
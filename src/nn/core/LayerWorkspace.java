@@ -0,0 +1,38 @@
+package nn.core;
+
+class LayerWorkspace {
+
+    private final int inputSize;
+    private final int outputSize;
+    private int capacity;
+
+    double[] input;
+    int rows;
+    double[] weightedSum;
+    double[] output;
+    double[] delta;
+    double[] inputGradient;
+    final double[] weightGradient;
+
+    LayerWorkspace(int inputSize, int outputSize) {
+        this.inputSize = inputSize;
+        this.outputSize = outputSize;
+        this.weightGradient = new double[(inputSize + 1) * outputSize];
+        ensureCapacity(1);
+    }
+
+    boolean matches(int inputSize, int outputSize) {
+        return this.inputSize == inputSize && this.outputSize == outputSize;
+    }
+
+    void ensureCapacity(int rows) {
+        if (rows <= capacity) {
+            return;
+        }
+        capacity = rows;
+        weightedSum = new double[rows * outputSize];
+        output = new double[rows * outputSize];
+        delta = new double[rows * outputSize];
+        inputGradient = new double[rows * inputSize];
+    }
+}
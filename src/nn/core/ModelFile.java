@@ -0,0 +1,316 @@
+package nn.core;
+
+import nn.activation.ActivationFunction;
+import nn.activation.Linear;
+import nn.activation.ReLU;
+import nn.activation.Sigmoid;
+import nn.activation.Tanh;
+import nn.data.ColumnStatistics;
+import nn.data.DataNormalizer;
+import nn.loss.CrossEntropyLoss;
+import nn.loss.LossFunction;
+import nn.loss.MeanSquaredError;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+public final class ModelFile {
+
+    private static final int MAGIC = 0x4E4E4D4C;
+    private static final int VERSION = 1;
+    private static final int FIXED_HEADER_BYTES = 24;
+    private static final int FLAG_NORMALIZER = 1;
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private final LossFunction lossFunction;
+    private final int[] sizes;
+    private final ActivationFunction[] activations;
+    private final double[][] weights;
+    private final DataNormalizer normalizer;
+
+    private ModelFile(LossFunction lossFunction, int[] sizes, ActivationFunction[] activations,
+            double[][] weights, DataNormalizer normalizer) {
+        this.lossFunction = lossFunction;
+        this.sizes = sizes;
+        this.activations = activations;
+        this.weights = weights;
+        this.normalizer = normalizer;
+    }
+
+    public static void write(Path file, NeuralNetwork network) throws IOException {
+        write(file, network, null);
+    }
+
+    public static void write(Path file, NeuralNetwork network, DataNormalizer normalizer) throws IOException {
+        int layerCount = network.getLayerCount();
+        if (layerCount == 0) {
+            throw new IllegalArgumentException("Network has no layers");
+        }
+        if (normalizer != null && normalizer.getInputStatistics() == null) {
+            throw new IllegalArgumentException("Normalizer must be fitted before it can be saved");
+        }
+
+        byte[] loss = encode(lossId(network.getLossFunction()));
+        byte[][] activationIds = new byte[layerCount][];
+        int headerBytes = FIXED_HEADER_BYTES + 2 + loss.length;
+        for (int l = 0; l < layerCount; l++) {
+            activationIds[l] = encode(activationId(network.getLayer(l).getActivation()));
+            headerBytes += 4 + 4 + 2 + activationIds[l].length;
+        }
+
+        byte[] mode = null;
+        ColumnStatistics inputStatistics = null;
+        ColumnStatistics outputStatistics = null;
+        if (normalizer != null) {
+            mode = encode(normalizer.getMode().name());
+            inputStatistics = normalizer.getInputStatistics();
+            outputStatistics = normalizer.getOutputStatistics();
+            headerBytes += 2 + mode.length + statisticsBytes(inputStatistics) + statisticsBytes(outputStatistics);
+        }
+        long payloadOffset = (headerBytes + 7) & ~7L;
+
+        ByteBuffer header = ByteBuffer.allocate((int) payloadOffset).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(layerCount)
+                .putInt(normalizer != null ? FLAG_NORMALIZER : 0)
+                .putLong(payloadOffset);
+        header.putShort((short) loss.length).put(loss);
+        for (int l = 0; l < layerCount; l++) {
+            Layer layer = network.getLayer(l);
+            header.putInt(layer.getInputSize()).putInt(layer.getOutputSize());
+            header.putShort((short) activationIds[l].length).put(activationIds[l]);
+        }
+        if (normalizer != null) {
+            header.putShort((short) mode.length).put(mode);
+            putStatistics(header, inputStatistics);
+            putStatistics(header, outputStatistics);
+        }
+        header.position(0);
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(out, header);
+
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int l = 0; l < layerCount; l++) {
+                for (double weight : network.getLayer(l).weights()) {
+                    if (buffer.remaining() < 8) {
+                        buffer.flip();
+                        writeFully(out, buffer);
+                        buffer.clear();
+                    }
+                    buffer.putDouble(weight);
+                }
+            }
+            buffer.flip();
+            writeFully(out, buffer);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static ModelFile read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < FIXED_HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException(file + " is not a model file");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException(file + " is not a model file");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported model file version " + version);
+            }
+            int layerCount = buffer.getInt();
+            int flags = buffer.getInt();
+            long payloadOffset = buffer.getLong();
+            if (layerCount <= 0 || payloadOffset < FIXED_HEADER_BYTES || payloadOffset > size
+                    || payloadOffset % 8 != 0) {
+                throw new IOException(file + " has a corrupt model header");
+            }
+
+            try {
+                LossFunction lossFunction = loss(getString(buffer));
+                int[] sizes = new int[layerCount + 1];
+                ActivationFunction[] activations = new ActivationFunction[layerCount];
+                long parameters = 0;
+                for (int l = 0; l < layerCount; l++) {
+                    int inputSize = buffer.getInt();
+                    int outputSize = buffer.getInt();
+                    if (inputSize <= 0 || outputSize <= 0 || (l > 0 && inputSize != sizes[l])) {
+                        throw new IOException(file + " has inconsistent layer sizes");
+                    }
+                    sizes[l] = inputSize;
+                    sizes[l + 1] = outputSize;
+                    activations[l] = activation(getString(buffer));
+                    parameters += (long) (inputSize + 1) * outputSize;
+                }
+
+                DataNormalizer normalizer = null;
+                if ((flags & FLAG_NORMALIZER) != 0) {
+                    normalizer = new DataNormalizer(DataNormalizer.Mode.valueOf(getString(buffer)));
+                    normalizer.fit(getStatistics(buffer), getStatistics(buffer));
+                }
+
+                if (buffer.position() > payloadOffset || size != payloadOffset + parameters * 8) {
+                    throw new IOException(file + " has a corrupt model header");
+                }
+
+                buffer.position((int) payloadOffset);
+                double[][] weights = new double[layerCount][];
+                for (int l = 0; l < layerCount; l++) {
+                    weights[l] = new double[(sizes[l] + 1) * sizes[l + 1]];
+                    buffer.asDoubleBuffer().get(weights[l]);
+                    buffer.position(buffer.position() + weights[l].length * 8);
+                }
+
+                return new ModelFile(lossFunction, sizes, activations, weights, normalizer);
+            } catch (RuntimeException e) {
+                throw new IOException(file + " has a corrupt model header", e);
+            }
+        }
+    }
+
+    public NeuralNetwork toNetwork() {
+        NeuralNetwork network = new NeuralNetwork(lossFunction);
+        for (int l = 0; l < weights.length; l++) {
+            network.addLayer(new Layer(sizes[l], sizes[l + 1], activations[l], weights[l].clone()));
+        }
+        return network;
+    }
+
+    public InferenceModel toInferenceModel() {
+        return new InferenceModel(sizes, weights, activations);
+    }
+
+    public DataNormalizer getNormalizer() {
+        return normalizer;
+    }
+
+    public LossFunction getLossFunction() {
+        return lossFunction;
+    }
+
+    public int getLayerCount() {
+        return weights.length;
+    }
+
+    public int getInputSize() {
+        return sizes[0];
+    }
+
+    public int getOutputSize() {
+        return sizes[sizes.length - 1];
+    }
+
+    private static String lossId(LossFunction lossFunction) {
+        if (lossFunction instanceof MeanSquaredError) {
+            return "mse";
+        }
+        if (lossFunction instanceof CrossEntropyLoss) {
+            return "cross_entropy";
+        }
+        throw new IllegalArgumentException(
+                "Unsupported loss function for model files: " + lossFunction.getClass().getName());
+    }
+
+    private static LossFunction loss(String id) throws IOException {
+        switch (id) {
+            case "mse":
+                return new MeanSquaredError();
+            case "cross_entropy":
+                return new CrossEntropyLoss();
+            default:
+                throw new IOException("Unknown loss function in model file: " + id);
+        }
+    }
+
+    private static String activationId(ActivationFunction activation) {
+        if (activation instanceof ReLU) {
+            return "relu";
+        }
+        if (activation instanceof Sigmoid) {
+            return "sigmoid";
+        }
+        if (activation instanceof Tanh) {
+            return "tanh";
+        }
+        if (activation instanceof Linear) {
+            return "linear";
+        }
+        throw new IllegalArgumentException(
+                "Unsupported activation for model files: " + activation.getClass().getName());
+    }
+
+    private static ActivationFunction activation(String id) throws IOException {
+        switch (id) {
+            case "relu":
+                return new ReLU();
+            case "sigmoid":
+                return new Sigmoid();
+            case "tanh":
+                return new Tanh();
+            case "linear":
+                return new Linear();
+            default:
+                throw new IOException("Unknown activation in model file: " + id);
+        }
+    }
+
+    private static int statisticsBytes(ColumnStatistics statistics) {
+        return 4 + 8 + statistics.getColumnCount() * 4 * 8;
+    }
+
+    private static void putStatistics(ByteBuffer buffer, ColumnStatistics statistics) {
+        double[] means = statistics.getMeans();
+        double[] variances = statistics.getVariances();
+        double[] mins = statistics.getMins();
+        double[] maxs = statistics.getMaxs();
+        buffer.putInt(statistics.getColumnCount()).putLong(statistics.getCount());
+        for (int c = 0; c < means.length; c++) {
+            buffer.putDouble(means[c]).putDouble(variances[c]).putDouble(mins[c]).putDouble(maxs[c]);
+        }
+    }
+
+    private static ColumnStatistics getStatistics(ByteBuffer buffer) {
+        int columns = buffer.getInt();
+        long count = buffer.getLong();
+        double[] means = new double[columns];
+        double[] variances = new double[columns];
+        double[] mins = new double[columns];
+        double[] maxs = new double[columns];
+        for (int c = 0; c < columns; c++) {
+            means[c] = buffer.getDouble();
+            variances[c] = buffer.getDouble();
+            mins[c] = buffer.getDouble();
+            maxs[c] = buffer.getDouble();
+        }
+        return ColumnStatistics.fromSummary(count, means, variances, mins, maxs);
+    }
+
+    private static byte[] encode(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package nn.core;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class NetworkProfiler {
+
+    private final LongAdder[] forwardNanos;
+    private final LongAdder[] backwardNanos;
+    private final LongAdder[] updateNanos;
+    private final DoubleAdder[] gradientNorms;
+    private final LongAdder lossNanos = new LongAdder();
+    private final LongAdder updates = new LongAdder();
+
+    NetworkProfiler(int layers) {
+        this.forwardNanos = adders(layers);
+        this.backwardNanos = adders(layers);
+        this.updateNanos = adders(layers);
+        this.gradientNorms = new DoubleAdder[layers];
+        for (int i = 0; i < layers; i++) {
+            gradientNorms[i] = new DoubleAdder();
+        }
+    }
+
+    void addForward(int layer, long nanos) {
+        forwardNanos[layer].add(nanos);
+    }
+
+    void addBackward(int layer, long nanos) {
+        backwardNanos[layer].add(nanos);
+    }
+
+    void addUpdate(int layer, long nanos, double[] gradient) {
+        updateNanos[layer].add(nanos);
+        double sum = 0;
+        for (double g : gradient) {
+            sum += g * g;
+        }
+        gradientNorms[layer].add(Math.sqrt(sum));
+    }
+
+    void addFusedUpdate(int layer, long nanos, double gradientNorm) {
+        updateNanos[layer].add(nanos);
+        backwardNanos[layer].add(-nanos);
+        gradientNorms[layer].add(gradientNorm);
+    }
+
+    void addLoss(long nanos) {
+        lossNanos.add(nanos);
+    }
+
+    void endUpdate() {
+        updates.increment();
+    }
+
+    public int getLayerCount() {
+        return forwardNanos.length;
+    }
+
+    public long[] getForwardNanos() {
+        return sums(forwardNanos);
+    }
+
+    public long[] getBackwardNanos() {
+        return sums(backwardNanos);
+    }
+
+    public long[] getUpdateNanos() {
+        return sums(updateNanos);
+    }
+
+    public long getLossNanos() {
+        return lossNanos.sum();
+    }
+
+    public long getUpdateCount() {
+        return updates.sum();
+    }
+
+    public double[] getMeanGradientNorms() {
+        long count = updates.sum();
+        double[] norms = new double[gradientNorms.length];
+        for (int i = 0; i < norms.length; i++) {
+            norms[i] = count > 0 ? gradientNorms[i].sum() / count : Double.NaN;
+        }
+        return norms;
+    }
+
+    public void reset() {
+        for (int i = 0; i < forwardNanos.length; i++) {
+            forwardNanos[i].reset();
+            backwardNanos[i].reset();
+            updateNanos[i].reset();
+            gradientNorms[i].reset();
+        }
+        lossNanos.reset();
+        updates.reset();
+    }
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static long[] sums(LongAdder[] adders) {
+        long[] sums = new long[adders.length];
+        for (int i = 0; i < sums.length; i++) {
+            sums[i] = adders[i].sum();
+        }
+        return sums;
+    }
+}
@@ -1,18 +1,31 @@
 package nn.core;
 
 import nn.loss.LossFunction;
+import nn.optimizer.Optimizer;
+import nn.optimizer.OptimizerState;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 public class NeuralNetwork {
 
     private List<Layer> layers;
     private LossFunction lossFunction;
     private double[] lastOutput;
+    private double[] outputGradient;
+    private ThreadLocal<BatchWorkspace> batchWorkspaces;
+    private BatchWorkspace[] shardWorkspaces;
+    private Optimizer optimizer;
+    private NetworkProfiler profiler;
+    private InferenceModel inferenceModel;
 
     public NeuralNetwork(LossFunction lossFunction) {
         this.layers = new ArrayList<>();
         this.lossFunction = lossFunction;
+        this.batchWorkspaces = ThreadLocal.withInitial(this::createWorkspace);
     }
 
     public void addLayer(Layer layer) {
@@ -25,10 +38,22 @@ public class NeuralNetwork {
                                 lastLayer.getOutputSize() + ")");
             }
         }
+        layer.setOptimizerState(optimizer != null ? optimizer.createState(layer.getParameterCount()) : null);
         layers.add(layer);
+        outputGradient = null;
+        batchWorkspaces = ThreadLocal.withInitial(this::createWorkspace);
+        shardWorkspaces = null;
+        inferenceModel = null;
+        if (profiler != null) {
+            profiler = new NetworkProfiler(layers.size());
+        }
     }
 
     public double[] forward(double[] input) {
+        return forwardReusing(input).clone();
+    }
+
+    private double[] forwardReusing(double[] input) {
         if (layers.isEmpty()) {
             throw new IllegalStateException("Network has no layers");
         }
@@ -40,12 +65,23 @@ public class NeuralNetwork {
                             layers.get(0).getInputSize() + ")");
         }
 
+        NetworkProfiler profiler = this.profiler;
+        ForwardEvent event = new ForwardEvent();
+        event.begin();
         double[] current = input;
-        for (Layer layer : layers) {
-            current = layer.forward(current);
+        for (int i = 0; i < layers.size(); i++) {
+            long start = profiler != null ? System.nanoTime() : 0;
+            LayerEvent layerEvent = new LayerEvent();
+            layerEvent.begin();
+            current = layers.get(i).forwardReusing(current);
+            layerEvent.commit(i, LayerEvent.FORWARD, 1);
+            if (profiler != null) {
+                profiler.addForward(i, System.nanoTime() - start);
+            }
         }
+        event.commit(1);
 
-        lastOutput = current.clone();
+        lastOutput = current;
         return current;
     }
 
@@ -60,28 +96,333 @@ public class NeuralNetwork {
                             ") doesn't match output size (" + lastOutput.length + ")");
         }
 
-        double[] gradient = lossFunction.gradient(lastOutput, expected);
+        if (outputGradient == null) {
+            outputGradient = new double[lastOutput.length];
+        }
+        NetworkProfiler profiler = this.profiler;
+        BackwardEvent event = new BackwardEvent();
+        event.begin();
+        long start = profiler != null ? System.nanoTime() : 0;
+        double loss = lossFunction.computeAndGradient(lastOutput, expected, outputGradient);
+        if (profiler != null) {
+            profiler.addLoss(System.nanoTime() - start);
+        }
 
+        double[] gradient = outputGradient;
         for (int i = layers.size() - 1; i >= 0; i--) {
-            gradient = layers.get(i).backward(gradient, learningRate);
+            start = profiler != null ? System.nanoTime() : 0;
+            LayerEvent layerEvent = new LayerEvent();
+            layerEvent.begin();
+            gradient = layers.get(i).backwardReusing(gradient, learningRate, profiler, i);
+            layerEvent.commit(i, LayerEvent.BACKWARD, 1);
+            if (profiler != null) {
+                profiler.addBackward(i, System.nanoTime() - start);
+            }
+        }
+        if (profiler != null) {
+            profiler.endUpdate();
         }
+        event.commit(1, loss);
 
-        return lossFunction.compute(lastOutput, expected);
+        return loss;
     }
 
     public double train(double[] input, double[] expected, double learningRate) {
-        forward(input);
+        forwardReusing(input);
         return backward(expected, learningRate);
     }
 
+    public double trainBatch(double[][] inputs, double[][] expected, double learningRate) {
+        if (inputs.length != expected.length) {
+            throw new IllegalArgumentException(
+                    "Batch must have matching inputs and expected, got " +
+                            inputs.length + " inputs and " + expected.length + " expected");
+        }
+
+        return trainBatch(inputs, expected, null, 0, inputs.length, learningRate);
+    }
+
+    public double trainBatch(double[][] inputs, double[][] expected, int[] indices, int from, int to,
+            double learningRate) {
+        BatchWorkspace workspace = batchWorkspaces.get();
+        double totalLoss = computeGradients(inputs, expected, indices, from, to, 1.0 / (to - from), workspace);
+        applyGradients(workspace, learningRate);
+        return totalLoss / (to - from);
+    }
+
+    public double trainBatch(double[][] inputs, double[][] expected, int[] indices, int from, int to,
+            double learningRate, ExecutorService executor, int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1, got " + shards);
+        }
+        int rows = to - from;
+        int shardCount = Math.min(shards, Math.max(rows, 1));
+        if (shardCount == 1) {
+            return trainBatch(inputs, expected, indices, from, to, learningRate);
+        }
+        if (shardWorkspaces == null || shardWorkspaces.length < shardCount) {
+            BatchWorkspace[] grown = new BatchWorkspace[shardCount];
+            for (int t = 0; t < shardCount; t++) {
+                grown[t] = shardWorkspaces != null && t < shardWorkspaces.length
+                        ? shardWorkspaces[t]
+                        : createWorkspace();
+            }
+            shardWorkspaces = grown;
+        }
+
+        BatchWorkspace[] workspaces = shardWorkspaces;
+        double scale = 1.0 / rows;
+        List<Callable<Double>> tasks = new ArrayList<>(shardCount);
+        for (int t = 0; t < shardCount; t++) {
+            int shardStart = from + (int) ((long) rows * t / shardCount);
+            int shardEnd = from + (int) ((long) rows * (t + 1) / shardCount);
+            BatchWorkspace workspace = workspaces[t];
+            tasks.add(() -> computeGradients(inputs, expected, indices, shardStart, shardEnd, scale, workspace));
+        }
+
+        double totalLoss = 0;
+        try {
+            for (Future<Double> future : executor.invokeAll(tasks)) {
+                totalLoss += future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Training was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Training worker failed", cause);
+        }
+        for (int t = 1; t < shardCount; t++) {
+            workspaces[0].addGradients(workspaces[t]);
+        }
+        applyGradients(workspaces[0], learningRate);
+        return totalLoss / rows;
+    }
+
+    BatchWorkspace createWorkspace() {
+        if (layers.isEmpty()) {
+            throw new IllegalStateException("Network has no layers");
+        }
+        return new BatchWorkspace(layers);
+    }
+
+    double computeGradients(double[][] inputs, double[][] expected, int[] indices, int from, int to,
+            double gradientScale, BatchWorkspace workspace) {
+        if (layers.isEmpty()) {
+            throw new IllegalStateException("Network has no layers");
+        }
+        if (!workspace.matches(layers)) {
+            throw new IllegalArgumentException("Workspace was created for a different network shape");
+        }
+        if (from < 0 || to <= from || to > (indices != null ? indices.length : inputs.length)) {
+            throw new IllegalArgumentException("Invalid batch range [" + from + ", " + to + ")");
+        }
+
+        int rows = to - from;
+        int inputSize = layers.get(0).getInputSize();
+        int outputSize = layers.get(layers.size() - 1).getOutputSize();
+
+        BatchWorkspace ws = workspace;
+        ws.ensureCapacity(rows);
+
+        for (int r = 0; r < rows; r++) {
+            int idx = indices != null ? indices[from + r] : from + r;
+            if (inputs[idx].length != inputSize) {
+                throw new IllegalArgumentException(
+                        "Input size (" + inputs[idx].length +
+                                ") doesn't match first layer input size (" + inputSize + ")");
+            }
+            if (expected[idx].length != outputSize) {
+                throw new IllegalArgumentException(
+                        "Expected size (" + expected[idx].length +
+                                ") doesn't match output size (" + outputSize + ")");
+            }
+            System.arraycopy(inputs[idx], 0, ws.input, r * inputSize, inputSize);
+            System.arraycopy(expected[idx], 0, ws.expected, r * outputSize, outputSize);
+        }
+
+        NetworkProfiler profiler = this.profiler;
+        ForwardEvent forwardEvent = new ForwardEvent();
+        forwardEvent.begin();
+        double[] current = ws.input;
+        for (int i = 0; i < layers.size(); i++) {
+            long start = profiler != null ? System.nanoTime() : 0;
+            LayerEvent layerEvent = new LayerEvent();
+            layerEvent.begin();
+            current = layers.get(i).forwardBatch(current, rows, ws.layers[i]);
+            layerEvent.commit(i, LayerEvent.FORWARD, rows);
+            if (profiler != null) {
+                profiler.addForward(i, System.nanoTime() - start);
+            }
+        }
+        forwardEvent.commit(rows);
+
+        BackwardEvent backwardEvent = new BackwardEvent();
+        backwardEvent.begin();
+
+        long lossStart = profiler != null ? System.nanoTime() : 0;
+        double totalLoss = lossFunction.computeAndGradientBatch(current, ws.expected, ws.outputGradient,
+                rows, outputSize, gradientScale);
+        if (profiler != null) {
+            profiler.addLoss(System.nanoTime() - lossStart);
+        }
+
+        double[] gradient = ws.outputGradient;
+        for (int i = layers.size() - 1; i >= 0; i--) {
+            long start = profiler != null ? System.nanoTime() : 0;
+            LayerEvent layerEvent = new LayerEvent();
+            layerEvent.begin();
+            gradient = layers.get(i).backwardBatch(gradient, rows, ws.layers[i], i > 0);
+            layerEvent.commit(i, LayerEvent.BACKWARD, rows);
+            if (profiler != null) {
+                profiler.addBackward(i, System.nanoTime() - start);
+            }
+        }
+        backwardEvent.commit(rows, totalLoss / rows);
+
+        return totalLoss;
+    }
+
+    void applyGradients(BatchWorkspace workspace, double learningRate) {
+        if (!workspace.matches(layers)) {
+            throw new IllegalArgumentException("Workspace was created for a different network shape");
+        }
+        NetworkProfiler profiler = this.profiler;
+        for (int i = 0; i < layers.size(); i++) {
+            long start = profiler != null ? System.nanoTime() : 0;
+            LayerEvent layerEvent = new LayerEvent();
+            layerEvent.begin();
+            layers.get(i).applyGradient(workspace.layers[i].weightGradient, learningRate);
+            layerEvent.commit(i, LayerEvent.UPDATE, 0);
+            if (profiler != null) {
+                profiler.addUpdate(i, System.nanoTime() - start, workspace.layers[i].weightGradient);
+            }
+        }
+        if (profiler != null) {
+            profiler.endUpdate();
+        }
+    }
+
+    public void setOptimizer(Optimizer optimizer) {
+        this.optimizer = optimizer;
+        for (Layer layer : layers) {
+            layer.setOptimizerState(optimizer != null ? optimizer.createState(layer.getParameterCount()) : null);
+        }
+    }
+
+    public void setProfiling(boolean enabled) {
+        if (!enabled) {
+            profiler = null;
+        } else if (profiler == null) {
+            profiler = new NetworkProfiler(layers.size());
+        }
+    }
+
+    public NetworkProfiler getProfiler() {
+        return profiler;
+    }
+
+    public Optimizer getOptimizer() {
+        return optimizer;
+    }
+
+    public double[][] snapshotWeights() {
+        double[][] snapshot = new double[layers.size()][];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = new double[layers.get(i).getParameterCount()];
+        }
+        snapshotWeights(snapshot);
+        return snapshot;
+    }
+
+    public void snapshotWeights(double[][] target) {
+        validateSnapshot(target);
+        for (int i = 0; i < target.length; i++) {
+            double[] weights = layers.get(i).weights();
+            System.arraycopy(weights, 0, target[i], 0, weights.length);
+        }
+    }
+
+    public void restoreWeights(double[][] snapshot) {
+        validateSnapshot(snapshot);
+        for (int i = 0; i < snapshot.length; i++) {
+            double[] weights = layers.get(i).weights();
+            System.arraycopy(snapshot[i], 0, weights, 0, weights.length);
+        }
+    }
+
+    public double[][] snapshotOptimizerState() {
+        double[][] snapshot = new double[layers.size()][];
+        for (int i = 0; i < snapshot.length; i++) {
+            OptimizerState state = layers.get(i).getOptimizerState();
+            snapshot[i] = new double[state != null ? state.getStateSize() : 0];
+            if (state != null) {
+                state.saveState(snapshot[i]);
+            }
+        }
+        return snapshot;
+    }
+
+    public void restoreOptimizerState(double[][] snapshot) {
+        if (snapshot.length != layers.size()) {
+            throw new IllegalArgumentException(
+                    "Snapshot has " + snapshot.length + " layers, network has " + layers.size());
+        }
+        for (int i = 0; i < snapshot.length; i++) {
+            OptimizerState state = layers.get(i).getOptimizerState();
+            if (state != null) {
+                state.loadState(snapshot[i]);
+            } else if (snapshot[i].length != 0) {
+                throw new IllegalArgumentException("Layer " + i + " has no optimizer state to restore");
+            }
+        }
+    }
+
+    private void validateSnapshot(double[][] snapshot) {
+        if (snapshot.length != layers.size()) {
+            throw new IllegalArgumentException(
+                    "Snapshot has " + snapshot.length + " layers, network has " + layers.size());
+        }
+        for (int i = 0; i < snapshot.length; i++) {
+            if (snapshot[i].length != layers.get(i).getParameterCount()) {
+                throw new IllegalArgumentException(
+                        "Snapshot layer " + i + " has " + snapshot[i].length +
+                                " weights, expected " + layers.get(i).getParameterCount());
+            }
+        }
+    }
+
     public double[] predict(double[] input) {
         return forward(input);
     }
 
+    public double[][] predictBatch(double[][] inputs) {
+        InferenceModel model = inferenceModel;
+        if (model == null) {
+            model = compileForInference();
+            inferenceModel = model;
+        }
+        return model.predictBatch(inputs);
+    }
+
+    public InferenceModel compileForInference() {
+        return new InferenceModel(layers);
+    }
+
     public double getLoss(double[] predicted, double[] expected) {
         return lossFunction.compute(predicted, expected);
     }
 
+    public LossFunction getLossFunction() {
+        return lossFunction;
+    }
+
     public int getLayerCount() {
         return layers.size();
     }
@@ -0,0 +1,45 @@
+package nn.data;
+
+public class ArrayDataSource implements RandomAccessDataSource {
+
+    private final double[][] inputs;
+    private final double[][] expected;
+
+    public ArrayDataSource(double[][] inputs, double[][] expected) {
+        if (inputs.length != expected.length || inputs.length == 0) {
+            throw new IllegalArgumentException("Inputs and expected must be non-empty and have same length");
+        }
+        this.inputs = inputs;
+        this.expected = expected;
+    }
+
+    @Override
+    public int getInputColumns() {
+        return inputs[0].length;
+    }
+
+    @Override
+    public int getOutputColumns() {
+        return expected[0].length;
+    }
+
+    @Override
+    public long getRowCount() {
+        return inputs.length;
+    }
+
+    @Override
+    public void readRow(long row, double[] input, int inputOffset, double[] expected, int expectedOffset) {
+        int r = (int) row;
+        System.arraycopy(inputs[r], 0, input, inputOffset, inputs[r].length);
+        System.arraycopy(this.expected[r], 0, expected, expectedOffset, this.expected[r].length);
+    }
+
+    public double[][] getInputs() {
+        return inputs;
+    }
+
+    public double[][] getExpected() {
+        return expected;
+    }
+}
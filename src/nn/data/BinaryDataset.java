@@ -0,0 +1,412 @@
+package nn.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public final class BinaryDataset implements RandomAccessDataSource, AutoCloseable {
+
+    public enum Layout {
+        ROW_MAJOR,
+        COLUMN_MAJOR
+    }
+
+    private static final int MAGIC = 0x4E4E4453;
+    private static final int VERSION = 2;
+    private static final long SEGMENT_BYTES = 1L << 30;
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel channel;
+    private final DoubleBuffer[] segments;
+    private final long segmentDoubles;
+    private final long rows;
+    private final int inputColumns;
+    private final int outputColumns;
+    private final Layout layout;
+    private final String[] columnNames;
+    private final double[] mins;
+    private final double[] maxs;
+    private final double[] means;
+    private final double[] variances;
+
+    private BinaryDataset(FileChannel channel, DoubleBuffer[] segments, long segmentDoubles, long rows,
+            int inputColumns, int outputColumns, Layout layout, String[] columnNames,
+            double[] mins, double[] maxs, double[] means, double[] variances) {
+        this.channel = channel;
+        this.segments = segments;
+        this.segmentDoubles = segmentDoubles;
+        this.rows = rows;
+        this.inputColumns = inputColumns;
+        this.outputColumns = outputColumns;
+        this.layout = layout;
+        this.columnNames = columnNames;
+        this.mins = mins;
+        this.maxs = maxs;
+        this.means = means;
+        this.variances = variances;
+    }
+
+    public static void write(Path file, double[][] inputs, double[][] expected, String[] columnNames,
+            Layout layout) throws IOException {
+        if (inputs.length != expected.length || inputs.length == 0) {
+            throw new IllegalArgumentException("Inputs and expected must be non-empty and have same length");
+        }
+        for (int r = 0; r < inputs.length; r++) {
+            if (inputs[r].length != inputs[0].length || expected[r].length != expected[0].length) {
+                throw new IllegalArgumentException("Row " + r + " has a different width than row 0");
+            }
+        }
+        write(file, new ArrayDataSource(inputs, expected), columnNames, layout);
+    }
+
+    public static void write(Path file, DataSource source, String[] columnNames, Layout layout) throws IOException {
+        int inputColumns = source.getInputColumns();
+        int outputColumns = source.getOutputColumns();
+        int columns = inputColumns + outputColumns;
+        if (columnNames != null && columnNames.length != columns) {
+            throw new IllegalArgumentException(
+                    "Expected " + columns + " column names, got " + columnNames.length);
+        }
+
+        double[] input = new double[inputColumns];
+        double[] expected = new double[outputColumns];
+        double[] row = new double[columns];
+        ColumnStatistics statistics = new ColumnStatistics(columns);
+        try (DataSource.Cursor cursor = source.open()) {
+            while (cursor.next(input, expected)) {
+                System.arraycopy(input, 0, row, 0, inputColumns);
+                System.arraycopy(expected, 0, row, inputColumns, outputColumns);
+                statistics.add(row);
+            }
+        }
+        long rows = statistics.getCount();
+        if (rows == 0) {
+            throw new IllegalArgumentException("Data source has no rows");
+        }
+        double[] mins = statistics.getMins();
+        double[] maxs = statistics.getMaxs();
+        double[] means = statistics.getMeans();
+        double[] variances = statistics.getVariances();
+
+        byte[][] names = new byte[columns][];
+        int headerBytes = 4 + 4 + 8 + 4 + 4 + 4 + 8;
+        for (int c = 0; c < columns; c++) {
+            String name = columnNames != null ? columnNames[c] : "column" + c;
+            names[c] = name.getBytes(StandardCharsets.UTF_8);
+            if (names[c].length > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Column name too long: " + name);
+            }
+            headerBytes += 2 + names[c].length + 4 * 8;
+        }
+        long payloadOffset = (headerBytes + 7) & ~7L;
+
+        ByteBuffer header = ByteBuffer.allocate((int) payloadOffset).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putLong(rows)
+                .putInt(inputColumns).putInt(outputColumns).putInt(layout.ordinal())
+                .putLong(payloadOffset);
+        for (int c = 0; c < columns; c++) {
+            header.putShort((short) names[c].length).put(names[c]);
+            header.putDouble(mins[c]).putDouble(maxs[c]).putDouble(means[c]).putDouble(variances[c]);
+        }
+        header.position(0);
+
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+                DataSource.Cursor cursor = source.open()) {
+            writeFully(out, header);
+            long written = layout == Layout.ROW_MAJOR
+                    ? writeRows(out, cursor, input, expected, rows)
+                    : writeColumns(out, cursor, input, expected, rows, payloadOffset);
+            if (written != rows) {
+                throw new IOException("Data source returned " + written + " rows on the second pass, expected " + rows);
+            }
+        }
+    }
+
+    private static long writeRows(FileChannel out, DataSource.Cursor cursor, double[] input, double[] expected,
+            long rows) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        long written = 0;
+        while (written < rows && cursor.next(input, expected)) {
+            for (double value : input) {
+                buffer = put(out, buffer, value);
+            }
+            for (double value : expected) {
+                buffer = put(out, buffer, value);
+            }
+            written++;
+        }
+        buffer.flip();
+        writeFully(out, buffer);
+        return written;
+    }
+
+    private static long writeColumns(FileChannel out, DataSource.Cursor cursor, double[] input, double[] expected,
+            long rows, long payloadOffset) throws IOException {
+        int inputColumns = input.length;
+        int blockRows = WRITE_BUFFER_BYTES / 8;
+        double[][] block = new double[inputColumns + expected.length][blockRows];
+        ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        long written = 0;
+        int filled = 0;
+        boolean more = true;
+        while (more) {
+            more = written + filled < rows && cursor.next(input, expected);
+            if (more) {
+                for (int c = 0; c < inputColumns; c++) {
+                    block[c][filled] = input[c];
+                }
+                for (int c = 0; c < expected.length; c++) {
+                    block[inputColumns + c][filled] = expected[c];
+                }
+                filled++;
+            }
+            if (filled == blockRows || (!more && filled > 0)) {
+                for (int c = 0; c < block.length; c++) {
+                    buffer.clear();
+                    buffer.asDoubleBuffer().put(block[c], 0, filled);
+                    buffer.limit(filled * 8);
+                    writeFully(out, buffer, payloadOffset + (c * rows + written) * 8);
+                }
+                written += filled;
+                filled = 0;
+            }
+        }
+        return written;
+    }
+
+    public static BinaryDataset open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer fixed = ByteBuffer.allocate(36).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, fixed, 0);
+            fixed.flip();
+            if (fixed.getInt() != MAGIC) {
+                throw new IOException(file + " is not a binary dataset");
+            }
+            int version = fixed.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary dataset version " + version);
+            }
+            long rows = fixed.getLong();
+            int inputColumns = fixed.getInt();
+            int outputColumns = fixed.getInt();
+            int layoutOrdinal = fixed.getInt();
+            long payloadOffset = fixed.getLong();
+            int columns = inputColumns + outputColumns;
+            if (rows <= 0 || inputColumns <= 0 || outputColumns <= 0
+                    || layoutOrdinal < 0 || layoutOrdinal >= Layout.values().length
+                    || payloadOffset < 36 || payloadOffset % 8 != 0
+                    || channel.size() != payloadOffset + rows * columns * 8) {
+                throw new IOException(file + " has a corrupt binary dataset header");
+            }
+            Layout layout = Layout.values()[layoutOrdinal];
+
+            ByteBuffer schema = ByteBuffer.allocate((int) (payloadOffset - 36)).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, schema, 36);
+            schema.flip();
+            String[] names = new String[columns];
+            double[] mins = new double[columns];
+            double[] maxs = new double[columns];
+            double[] means = new double[columns];
+            double[] variances = new double[columns];
+            for (int c = 0; c < columns; c++) {
+                byte[] name = new byte[schema.getShort()];
+                schema.get(name);
+                names[c] = new String(name, StandardCharsets.UTF_8);
+                mins[c] = schema.getDouble();
+                maxs[c] = schema.getDouble();
+                means[c] = schema.getDouble();
+                variances[c] = schema.getDouble();
+            }
+
+            long totalDoubles = rows * columns;
+            long segmentDoubles = SEGMENT_BYTES / 8;
+            if (layout == Layout.ROW_MAJOR) {
+                segmentDoubles -= segmentDoubles % columns;
+            }
+            int segmentCount = (int) ((totalDoubles + segmentDoubles - 1) / segmentDoubles);
+            DoubleBuffer[] segments = new DoubleBuffer[segmentCount];
+            for (int s = 0; s < segmentCount; s++) {
+                long first = s * segmentDoubles;
+                long count = Math.min(segmentDoubles, totalDoubles - first);
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, payloadOffset + first * 8, count * 8)
+                        .order(ByteOrder.LITTLE_ENDIAN)
+                        .asDoubleBuffer();
+            }
+
+            return new BinaryDataset(channel, segments, segmentDoubles, rows, inputColumns, outputColumns,
+                    layout, names, mins, maxs, means, variances);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public double get(long row, int column) {
+        checkRow(row);
+        if (column < 0 || column >= getColumnCount()) {
+            throw new IndexOutOfBoundsException("Column " + column + " out of range");
+        }
+        return value(index(row, column));
+    }
+
+    @Override
+    public void readRow(long row, double[] input, int inputOffset, double[] expected, int expectedOffset) {
+        checkRow(row);
+        if (layout == Layout.ROW_MAJOR) {
+            long first = row * getColumnCount();
+            DoubleBuffer segment = segments[(int) (first / segmentDoubles)];
+            int position = (int) (first % segmentDoubles);
+            segment.get(position, input, inputOffset, inputColumns);
+            segment.get(position + inputColumns, expected, expectedOffset, outputColumns);
+        } else {
+            for (int c = 0; c < inputColumns; c++) {
+                input[inputOffset + c] = value(index(row, c));
+            }
+            for (int c = 0; c < outputColumns; c++) {
+                expected[expectedOffset + c] = value(index(row, inputColumns + c));
+            }
+        }
+    }
+
+    public double[][] getInputs() {
+        double[][] result = new double[toIntRows()][inputColumns];
+        double[] scratch = new double[outputColumns];
+        for (int r = 0; r < result.length; r++) {
+            readRow(r, result[r], 0, scratch, 0);
+        }
+        return result;
+    }
+
+    public double[][] getExpected() {
+        double[][] result = new double[toIntRows()][outputColumns];
+        double[] scratch = new double[inputColumns];
+        for (int r = 0; r < result.length; r++) {
+            readRow(r, scratch, 0, result[r], 0);
+        }
+        return result;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rows;
+    }
+
+    @Override
+    public int getInputColumns() {
+        return inputColumns;
+    }
+
+    @Override
+    public int getOutputColumns() {
+        return outputColumns;
+    }
+
+    public int getColumnCount() {
+        return inputColumns + outputColumns;
+    }
+
+    public Layout getLayout() {
+        return layout;
+    }
+
+    public String[] getColumnNames() {
+        return columnNames.clone();
+    }
+
+    public double[] getMins() {
+        return mins.clone();
+    }
+
+    public double[] getMaxs() {
+        return maxs.clone();
+    }
+
+    public double[] getMeans() {
+        return means.clone();
+    }
+
+    public double[] getVariances() {
+        return variances.clone();
+    }
+
+    public ColumnStatistics getInputStatistics() {
+        return statistics(0, inputColumns);
+    }
+
+    public ColumnStatistics getOutputStatistics() {
+        return statistics(inputColumns, getColumnCount());
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ColumnStatistics statistics(int from, int to) {
+        return ColumnStatistics.fromSummary(rows,
+                Arrays.copyOfRange(means, from, to),
+                Arrays.copyOfRange(variances, from, to),
+                Arrays.copyOfRange(mins, from, to),
+                Arrays.copyOfRange(maxs, from, to));
+    }
+
+    private long index(long row, int column) {
+        return layout == Layout.ROW_MAJOR ? row * getColumnCount() + column : column * rows + row;
+    }
+
+    private double value(long index) {
+        return segments[(int) (index / segmentDoubles)].get((int) (index % segmentDoubles));
+    }
+
+    private void checkRow(long row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range [0, " + rows + ")");
+        }
+    }
+
+    private int toIntRows() {
+        if (rows > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Dataset has too many rows to materialize: " + rows);
+        }
+        return (int) rows;
+    }
+
+    private static ByteBuffer put(FileChannel out, ByteBuffer buffer, double value) throws IOException {
+        if (buffer.remaining() < 8) {
+            buffer.flip();
+            writeFully(out, buffer);
+            buffer.clear();
+        }
+        return buffer.putDouble(value);
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += out.write(buffer, position);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of binary dataset");
+            }
+            position += read;
+        }
+    }
+}
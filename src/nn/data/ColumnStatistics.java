@@ -0,0 +1,151 @@
+package nn.data;
+
+import java.util.Arrays;
+
+public final class ColumnStatistics {
+
+    private final int columns;
+    private final double[] means;
+    private final double[] squaredDeviations;
+    private final double[] mins;
+    private final double[] maxs;
+    private long count;
+
+    public ColumnStatistics(int columns) {
+        if (columns < 1) {
+            throw new IllegalArgumentException("Column count must be at least 1, got " + columns);
+        }
+        this.columns = columns;
+        this.means = new double[columns];
+        this.squaredDeviations = new double[columns];
+        this.mins = new double[columns];
+        this.maxs = new double[columns];
+        Arrays.fill(mins, Double.POSITIVE_INFINITY);
+        Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+    }
+
+    public static ColumnStatistics of(double[][] rows, int from, int to) {
+        if (from < 0 || to > rows.length || from >= to) {
+            throw new IllegalArgumentException("Invalid row range [" + from + ", " + to + ")");
+        }
+        ColumnStatistics statistics = new ColumnStatistics(rows[from].length);
+        for (int r = from; r < to; r++) {
+            statistics.add(rows[r]);
+        }
+        return statistics;
+    }
+
+    public static ColumnStatistics fromSummary(long count, double[] means, double[] variances,
+            double[] mins, double[] maxs) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative, got " + count);
+        }
+        if (variances.length != means.length || mins.length != means.length || maxs.length != means.length) {
+            throw new IllegalArgumentException("Summary arrays must have the same length");
+        }
+        ColumnStatistics statistics = new ColumnStatistics(means.length);
+        statistics.count = count;
+        for (int c = 0; c < means.length; c++) {
+            statistics.means[c] = means[c];
+            statistics.squaredDeviations[c] = variances[c] * count;
+            statistics.mins[c] = mins[c];
+            statistics.maxs[c] = maxs[c];
+        }
+        return statistics;
+    }
+
+    public void add(double[] row) {
+        if (row.length != columns) {
+            throw new IllegalArgumentException("Expected " + columns + " values, got " + row.length);
+        }
+        add(row, 0);
+    }
+
+    public void add(double[] values, int offset) {
+        if (offset < 0 || offset + columns > values.length) {
+            throw new IllegalArgumentException(
+                    "Expected " + columns + " values at offset " + offset + ", array has " + values.length);
+        }
+
+        count++;
+        double n = count;
+        for (int c = 0; c < columns; c++) {
+            double value = values[offset + c];
+            double delta = value - means[c];
+            means[c] += delta / n;
+            squaredDeviations[c] += delta * (value - means[c]);
+            if (value < mins[c]) {
+                mins[c] = value;
+            }
+            if (value > maxs[c]) {
+                maxs[c] = value;
+            }
+        }
+    }
+
+    public void merge(ColumnStatistics other) {
+        if (other.columns != columns) {
+            throw new IllegalArgumentException(
+                    "Column count mismatch: " + columns + " vs " + other.columns);
+        }
+        if (other.count == 0) {
+            return;
+        }
+
+        double n = count;
+        double m = other.count;
+        double total = n + m;
+        for (int c = 0; c < columns; c++) {
+            double delta = other.means[c] - means[c];
+            means[c] += delta * (m / total);
+            squaredDeviations[c] += other.squaredDeviations[c] + delta * delta * (n * m / total);
+            mins[c] = Math.min(mins[c], other.mins[c]);
+            maxs[c] = Math.max(maxs[c], other.maxs[c]);
+        }
+        count += other.count;
+    }
+
+    public ColumnStatistics copy() {
+        ColumnStatistics copy = new ColumnStatistics(columns);
+        copy.merge(this);
+        return copy;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public int getColumnCount() {
+        return columns;
+    }
+
+    public double[] getMeans() {
+        return means.clone();
+    }
+
+    public double[] getVariances() {
+        double[] variances = new double[columns];
+        if (count > 0) {
+            for (int c = 0; c < columns; c++) {
+                variances[c] = squaredDeviations[c] / count;
+            }
+        }
+        return variances;
+    }
+
+    public double[] getStandardDeviations() {
+        double[] deviations = getVariances();
+        for (int c = 0; c < columns; c++) {
+            deviations[c] = Math.sqrt(deviations[c]);
+        }
+        return deviations;
+    }
+
+    public double[] getMins() {
+        return mins.clone();
+    }
+
+    public double[] getMaxs() {
+        return maxs.clone();
+    }
+}
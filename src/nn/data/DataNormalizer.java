@@ -1,57 +1,205 @@
 package nn.data;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 public class DataNormalizer {
 
-    private double[] inputMins;
-    private double[] inputMaxs;
-    private double[] outputMins;
-    private double[] outputMaxs;
+    public enum Mode {
+        MIN_MAX,
+        Z_SCORE
+    }
+
+    private final Mode mode;
+    private ColumnStatistics inputStatistics;
+    private ColumnStatistics outputStatistics;
+    private double[] inputOffsets;
+    private double[] inputScales;
+    private double[] outputOffsets;
+    private double[] outputScales;
     private boolean fitted = false;
 
+    public DataNormalizer() {
+        this(Mode.MIN_MAX);
+    }
+
+    public DataNormalizer(Mode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Mode cannot be null");
+        }
+        this.mode = mode;
+    }
+
     public void fit(double[][] inputs, double[][] outputs) {
+        fit(inputs, outputs, 1);
+    }
+
+    public void fit(double[][] inputs, double[][] outputs, int threads) {
         if (inputs.length == 0 || outputs.length == 0) {
             throw new IllegalArgumentException("Cannot fit on empty data");
         }
+        if (inputs.length != outputs.length) {
+            throw new IllegalArgumentException("Inputs and outputs must have same length");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1, got " + threads);
+        }
 
-        int inputFeatures = inputs[0].length;
-        int outputFeatures = outputs[0].length;
-
-        inputMins = new double[inputFeatures];
-        inputMaxs = new double[inputFeatures];
-        outputMins = new double[outputFeatures];
-        outputMaxs = new double[outputFeatures];
-
-        for (int j = 0; j < inputFeatures; j++) {
-            inputMins[j] = Double.MAX_VALUE;
-            inputMaxs[j] = Double.MIN_VALUE;
+        FitEvent event = new FitEvent();
+        event.begin();
+        int chunks = Math.min(threads, inputs.length);
+        if (chunks == 1) {
+            setStatistics(ColumnStatistics.of(inputs, 0, inputs.length),
+                    ColumnStatistics.of(outputs, 0, outputs.length));
+        } else {
+            fitChunks(inputs, outputs, chunks);
         }
+        event.commit("arrays", mode, inputStatistics, outputStatistics, chunks);
+    }
 
-        for (int j = 0; j < outputFeatures; j++) {
-            outputMins[j] = Double.MAX_VALUE;
-            outputMaxs[j] = Double.MIN_VALUE;
+    private void fitChunks(double[][] inputs, double[][] outputs, int chunks) {
+        List<Callable<ColumnStatistics[]>> tasks = new ArrayList<>(chunks);
+        for (int t = 0; t < chunks; t++) {
+            int from = (int) ((long) inputs.length * t / chunks);
+            int to = (int) ((long) inputs.length * (t + 1) / chunks);
+            tasks.add(() -> new ColumnStatistics[] {
+                    ColumnStatistics.of(inputs, from, to),
+                    ColumnStatistics.of(outputs, from, to)
+            });
         }
 
-        for (double[] input : inputs) {
-            for (int j = 0; j < inputFeatures; j++) {
-                if (input[j] < inputMins[j])
-                    inputMins[j] = input[j];
-                if (input[j] > inputMaxs[j])
-                    inputMaxs[j] = input[j];
+        ExecutorService executor = Executors.newFixedThreadPool(chunks);
+        try {
+            ColumnStatistics inputTotal = null;
+            ColumnStatistics outputTotal = null;
+            for (Future<ColumnStatistics[]> future : executor.invokeAll(tasks)) {
+                ColumnStatistics[] partial = future.get();
+                if (inputTotal == null) {
+                    inputTotal = partial[0];
+                    outputTotal = partial[1];
+                } else {
+                    inputTotal.merge(partial[0]);
+                    outputTotal.merge(partial[1]);
+                }
+            }
+            setStatistics(inputTotal, outputTotal);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Fitting was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Fitting failed", cause);
+        } finally {
+            executor.shutdownNow();
         }
+    }
 
-        for (double[] output : outputs) {
-            for (int j = 0; j < outputFeatures; j++) {
-                if (output[j] < outputMins[j])
-                    outputMins[j] = output[j];
-                if (output[j] > outputMaxs[j])
-                    outputMaxs[j] = output[j];
+    public void fit(BinaryDataset dataset) {
+        FitEvent event = new FitEvent();
+        event.begin();
+        setStatistics(dataset.getInputStatistics(), dataset.getOutputStatistics());
+        event.commit("binary", mode, inputStatistics, outputStatistics, 1);
+    }
+
+    public void fit(DataSource source) {
+        FitEvent event = new FitEvent();
+        event.begin();
+        double[] input = new double[source.getInputColumns()];
+        double[] output = new double[source.getOutputColumns()];
+        ColumnStatistics inputs = new ColumnStatistics(input.length);
+        ColumnStatistics outputs = new ColumnStatistics(output.length);
+        try (DataSource.Cursor cursor = source.open()) {
+            while (cursor.next(input, output)) {
+                inputs.add(input);
+                outputs.add(output);
             }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reading data to fit failed", e);
+        }
+        if (inputs.getCount() == 0) {
+            throw new IllegalArgumentException("Cannot fit on empty data");
+        }
+        setStatistics(inputs, outputs);
+        event.commit("stream", mode, inputs, outputs, 1);
+    }
+
+    public void fit(ColumnStatistics inputStatistics, ColumnStatistics outputStatistics) {
+        setStatistics(inputStatistics.copy(), outputStatistics.copy());
+    }
+
+    public void partialFit(double[][] inputs, double[][] outputs) {
+        if (inputs.length != outputs.length) {
+            throw new IllegalArgumentException("Inputs and outputs must have same length");
+        }
+        if (inputs.length == 0) {
+            return;
+        }
+        ColumnStatistics inputBatch = ColumnStatistics.of(inputs, 0, inputs.length);
+        ColumnStatistics outputBatch = ColumnStatistics.of(outputs, 0, outputs.length);
+        if (inputStatistics != null) {
+            inputStatistics.merge(inputBatch);
+            outputStatistics.merge(outputBatch);
+            setStatistics(inputStatistics, outputStatistics);
+        } else {
+            setStatistics(inputBatch, outputBatch);
+        }
+    }
+
+    public void partialFit(double[] input, double[] output) {
+        if (inputStatistics == null) {
+            inputStatistics = new ColumnStatistics(input.length);
+            outputStatistics = new ColumnStatistics(output.length);
         }
+        inputStatistics.add(input);
+        outputStatistics.add(output);
+        setStatistics(inputStatistics, outputStatistics);
+    }
 
+    private void setStatistics(ColumnStatistics inputs, ColumnStatistics outputs) {
+        inputStatistics = inputs;
+        outputStatistics = outputs;
+        if (inputOffsets == null || inputOffsets.length != inputs.getColumnCount()) {
+            inputOffsets = new double[inputs.getColumnCount()];
+            inputScales = new double[inputs.getColumnCount()];
+        }
+        if (outputOffsets == null || outputOffsets.length != outputs.getColumnCount()) {
+            outputOffsets = new double[outputs.getColumnCount()];
+            outputScales = new double[outputs.getColumnCount()];
+        }
+        computeScaling(inputs, inputOffsets, inputScales);
+        computeScaling(outputs, outputOffsets, outputScales);
         fitted = true;
     }
 
+    private void computeScaling(ColumnStatistics statistics, double[] offsets, double[] scales) {
+        double[] mins = statistics.getMins();
+        double[] maxs = statistics.getMaxs();
+        double[] means = statistics.getMeans();
+        double[] deviations = statistics.getStandardDeviations();
+        for (int j = 0; j < offsets.length; j++) {
+            if (mode == Mode.MIN_MAX) {
+                offsets[j] = mins[j];
+                scales[j] = maxs[j] - mins[j];
+            } else {
+                offsets[j] = means[j];
+                scales[j] = deviations[j];
+            }
+        }
+    }
+
     public double[][] normalizeInputs(double[][] inputs) {
         checkFitted();
         double[][] result = new double[inputs.length][];
@@ -62,17 +210,21 @@ public class DataNormalizer {
     }
 
     public double[] normalizeInput(double[] input) {
+        return normalizeInputInPlace(input.clone());
+    }
+
+    public double[][] normalizeInputsInPlace(double[][] inputs) {
         checkFitted();
-        double[] result = new double[input.length];
-        for (int j = 0; j < input.length; j++) {
-            double range = inputMaxs[j] - inputMins[j];
-            if (range == 0) {
-                result[j] = 0;
-            } else {
-                result[j] = (input[j] - inputMins[j]) / range;
-            }
+        for (double[] input : inputs) {
+            normalize(input, inputOffsets, inputScales);
         }
-        return result;
+        return inputs;
+    }
+
+    public double[] normalizeInputInPlace(double[] input) {
+        checkFitted();
+        normalize(input, inputOffsets, inputScales);
+        return input;
     }
 
     public double[][] normalizeOutputs(double[][] outputs) {
@@ -85,24 +237,43 @@ public class DataNormalizer {
     }
 
     public double[] normalizeOutput(double[] output) {
+        return normalizeOutputInPlace(output.clone());
+    }
+
+    public double[][] normalizeOutputsInPlace(double[][] outputs) {
         checkFitted();
-        double[] result = new double[output.length];
-        for (int j = 0; j < output.length; j++) {
-            double range = outputMaxs[j] - outputMins[j];
-            if (range == 0) {
-                result[j] = 0;
+        for (double[] output : outputs) {
+            normalize(output, outputOffsets, outputScales);
+        }
+        return outputs;
+    }
+
+    public double[] normalizeOutputInPlace(double[] output) {
+        checkFitted();
+        normalize(output, outputOffsets, outputScales);
+        return output;
+    }
+
+    private static void normalize(double[] values, double[] offsets, double[] scales) {
+        if (values.length != offsets.length) {
+            throw new IllegalArgumentException(
+                    "Expected " + offsets.length + " values, got " + values.length);
+        }
+        for (int j = 0; j < values.length; j++) {
+            double scale = scales[j];
+            if (scale == 0) {
+                values[j] = 0;
             } else {
-                result[j] = (output[j] - outputMins[j]) / range;
+                values[j] = (values[j] - offsets[j]) / scale;
             }
         }
-        return result;
     }
 
     public double[] denormalizeInput(double[] normalized) {
         checkFitted();
         double[] result = new double[normalized.length];
         for (int j = 0; j < normalized.length; j++) {
-            result[j] = normalized[j] * (inputMaxs[j] - inputMins[j]) + inputMins[j];
+            result[j] = normalized[j] * inputScales[j] + inputOffsets[j];
         }
         return result;
     }
@@ -111,14 +282,14 @@ public class DataNormalizer {
         checkFitted();
         double[] result = new double[normalized.length];
         for (int j = 0; j < normalized.length; j++) {
-            result[j] = normalized[j] * (outputMaxs[j] - outputMins[j]) + outputMins[j];
+            result[j] = normalized[j] * outputScales[j] + outputOffsets[j];
         }
         return result;
     }
 
     public double denormalizeOutputValue(double normalized, int index) {
         checkFitted();
-        return normalized * (outputMaxs[index] - outputMins[index]) + outputMins[index];
+        return normalized * outputScales[index] + outputOffsets[index];
     }
 
     private void checkFitted() {
@@ -127,19 +298,31 @@ public class DataNormalizer {
         }
     }
 
+    public Mode getMode() {
+        return mode;
+    }
+
+    public ColumnStatistics getInputStatistics() {
+        return inputStatistics != null ? inputStatistics.copy() : null;
+    }
+
+    public ColumnStatistics getOutputStatistics() {
+        return outputStatistics != null ? outputStatistics.copy() : null;
+    }
+
     public double[] getInputMins() {
-        return inputMins != null ? inputMins.clone() : null;
+        return inputStatistics != null ? inputStatistics.getMins() : null;
     }
 
     public double[] getInputMaxs() {
-        return inputMaxs != null ? inputMaxs.clone() : null;
+        return inputStatistics != null ? inputStatistics.getMaxs() : null;
     }
 
     public double[] getOutputMins() {
-        return outputMins != null ? outputMins.clone() : null;
+        return outputStatistics != null ? outputStatistics.getMins() : null;
     }
 
     public double[] getOutputMaxs() {
-        return outputMaxs != null ? outputMaxs.clone() : null;
+        return outputStatistics != null ? outputStatistics.getMaxs() : null;
     }
 }
@@ -0,0 +1,18 @@
+package nn.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface DataSource {
+
+    int getInputColumns();
+
+    int getOutputColumns();
+
+    Cursor open() throws IOException;
+
+    interface Cursor extends Closeable {
+
+        boolean next(double[] input, double[] expected) throws IOException;
+    }
+}
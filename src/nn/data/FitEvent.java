@@ -0,0 +1,41 @@
+package nn.data;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("nn.data.NormalizerFit")
+@Label("Normalizer Fit")
+@Category({ "Neural Network", "Data" })
+@StackTrace(false)
+final class FitEvent extends jdk.jfr.Event {
+
+    @Label("Source")
+    String source;
+
+    @Label("Mode")
+    String mode;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("Columns")
+    int columns;
+
+    @Label("Threads")
+    int threads;
+
+    void commit(String source, DataNormalizer.Mode mode, ColumnStatistics inputs, ColumnStatistics outputs,
+            int threads) {
+        end();
+        if (shouldCommit()) {
+            this.source = source;
+            this.mode = mode.name();
+            this.rows = inputs.getCount();
+            this.columns = inputs.getColumnCount() + outputs.getColumnCount();
+            this.threads = threads;
+            commit();
+        }
+    }
+}
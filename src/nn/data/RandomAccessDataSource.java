@@ -0,0 +1,28 @@
+package nn.data;
+
+public interface RandomAccessDataSource extends DataSource {
+
+    long getRowCount();
+
+    void readRow(long row, double[] input, int inputOffset, double[] expected, int expectedOffset);
+
+    @Override
+    default Cursor open() {
+        long rows = getRowCount();
+        long[] next = { 0 };
+        return new Cursor() {
+            @Override
+            public boolean next(double[] input, double[] expected) {
+                if (next[0] >= rows) {
+                    return false;
+                }
+                readRow(next[0]++, input, 0, expected, 0);
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -34,6 +34,40 @@ public class CrossEntropyLoss implements LossFunction {
         return grad;
     }
 
+    @Override
+    public double computeAndGradient(double[] predicted, double[] expected, double[] gradient) {
+        if (predicted.length != expected.length || gradient.length != predicted.length) {
+            throw new IllegalArgumentException(
+                    "Arrays must have same length: " + predicted.length + " vs " + expected.length +
+                            " vs " + gradient.length);
+        }
+        return computeRow(predicted, expected, gradient, 0, predicted.length, 1.0);
+    }
+
+    @Override
+    public double computeAndGradientBatch(double[] predicted, double[] expected, double[] gradient,
+            int rows, int width, double gradientScale) {
+        LossFunction.validateBatch(predicted, expected, gradient, rows, width);
+
+        double totalLoss = 0;
+        for (int r = 0; r < rows; r++) {
+            totalLoss += computeRow(predicted, expected, gradient, r * width, width, gradientScale);
+        }
+        return totalLoss;
+    }
+
+    private double computeRow(double[] predicted, double[] expected, double[] gradient,
+            int offset, int width, double gradientScale) {
+        double sum = 0.0;
+        for (int i = offset; i < offset + width; i++) {
+            double p = clip(predicted[i]);
+            double e = expected[i];
+            sum -= e * Math.log(p) + (1 - e) * Math.log(1 - p);
+            gradient[i] = (-e / p + (1 - e) / (1 - p)) / width * gradientScale;
+        }
+        return sum / width;
+    }
+
     private double clip(double value) {
         return Math.max(EPSILON, Math.min(1 - EPSILON, value));
     }
@@ -5,4 +5,45 @@ public interface LossFunction {
     double compute(double[] predicted, double[] expected);
 
     double[] gradient(double[] predicted, double[] expected);
+
+    default double computeAndGradient(double[] predicted, double[] expected, double[] gradient) {
+        if (gradient.length != predicted.length) {
+            throw new IllegalArgumentException(
+                    "Gradient buffer must have length " + predicted.length + ", got " + gradient.length);
+        }
+        System.arraycopy(gradient(predicted, expected), 0, gradient, 0, predicted.length);
+        return compute(predicted, expected);
+    }
+
+    default double computeAndGradientBatch(double[] predicted, double[] expected, double[] gradient,
+            int rows, int width, double gradientScale) {
+        validateBatch(predicted, expected, gradient, rows, width);
+
+        double[] predictedRow = new double[width];
+        double[] expectedRow = new double[width];
+        double totalLoss = 0;
+        for (int r = 0; r < rows; r++) {
+            int offset = r * width;
+            System.arraycopy(predicted, offset, predictedRow, 0, width);
+            System.arraycopy(expected, offset, expectedRow, 0, width);
+            double[] rowGradient = gradient(predictedRow, expectedRow);
+            for (int j = 0; j < width; j++) {
+                gradient[offset + j] = rowGradient[j] * gradientScale;
+            }
+            totalLoss += compute(predictedRow, expectedRow);
+        }
+        return totalLoss;
+    }
+
+    static void validateBatch(double[] predicted, double[] expected, double[] gradient, int rows, int width) {
+        if (rows <= 0 || width <= 0) {
+            throw new IllegalArgumentException("Batch shape must be positive, got " + rows + "x" + width);
+        }
+        int size = rows * width;
+        if (predicted.length < size || expected.length < size || gradient.length < size) {
+            throw new IllegalArgumentException(
+                    "Batch buffers must hold " + rows + "x" + width + " values, got " +
+                            predicted.length + ", " + expected.length + " and " + gradient.length);
+        }
+    }
 }
@@ -31,4 +31,38 @@ public class MeanSquaredError implements LossFunction {
         }
         return grad;
     }
+
+    @Override
+    public double computeAndGradient(double[] predicted, double[] expected, double[] gradient) {
+        if (predicted.length != expected.length || gradient.length != predicted.length) {
+            throw new IllegalArgumentException(
+                    "Arrays must have same length: " + predicted.length + " vs " + expected.length +
+                            " vs " + gradient.length);
+        }
+        return computeRow(predicted, expected, gradient, 0, predicted.length, 1.0);
+    }
+
+    @Override
+    public double computeAndGradientBatch(double[] predicted, double[] expected, double[] gradient,
+            int rows, int width, double gradientScale) {
+        LossFunction.validateBatch(predicted, expected, gradient, rows, width);
+
+        double totalLoss = 0;
+        for (int r = 0; r < rows; r++) {
+            totalLoss += computeRow(predicted, expected, gradient, r * width, width, gradientScale);
+        }
+        return totalLoss;
+    }
+
+    private static double computeRow(double[] predicted, double[] expected, double[] gradient,
+            int offset, int width, double gradientScale) {
+        double sum = 0.0;
+        double scale = 2.0 / width;
+        for (int i = offset; i < offset + width; i++) {
+            double diff = predicted[i] - expected[i];
+            sum += diff * diff;
+            gradient[i] = scale * diff * gradientScale;
+        }
+        return sum / width;
+    }
 }
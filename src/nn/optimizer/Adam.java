@@ -0,0 +1,101 @@
+package nn.optimizer;
+
+public class Adam implements Optimizer {
+
+    private final double beta1;
+    private final double beta2;
+    private final double epsilon;
+
+    public Adam() {
+        this(0.9, 0.999, 1e-8);
+    }
+
+    public Adam(double beta1, double beta2, double epsilon) {
+        if (beta1 < 0 || beta1 >= 1) {
+            throw new IllegalArgumentException("beta1 must be in [0, 1), got " + beta1);
+        }
+        if (beta2 < 0 || beta2 >= 1) {
+            throw new IllegalArgumentException("beta2 must be in [0, 1), got " + beta2);
+        }
+        if (epsilon <= 0) {
+            throw new IllegalArgumentException("epsilon must be positive, got " + epsilon);
+        }
+        this.beta1 = beta1;
+        this.beta2 = beta2;
+        this.epsilon = epsilon;
+    }
+
+    @Override
+    public OptimizerState createState(int parameterCount) {
+        return new State(parameterCount);
+    }
+
+    public double getBeta1() {
+        return beta1;
+    }
+
+    public double getBeta2() {
+        return beta2;
+    }
+
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    private final class State implements OptimizerState {
+
+        private final double[] firstMoment;
+        private final double[] secondMoment;
+        private double beta1Power = 1.0;
+        private double beta2Power = 1.0;
+
+        State(int size) {
+            this.firstMoment = new double[size];
+            this.secondMoment = new double[size];
+        }
+
+        @Override
+        public void update(double[] parameters, double[] gradient, double learningRate) {
+            OptimizerState.validate(parameters, gradient, firstMoment.length);
+
+            beta1Power *= beta1;
+            beta2Power *= beta2;
+            double stepSize = learningRate * Math.sqrt(1 - beta2Power) / (1 - beta1Power);
+            double scaledEpsilon = epsilon * Math.sqrt(1 - beta2Power);
+
+            for (int i = 0; i < firstMoment.length; i++) {
+                double g = gradient[i];
+                double m = beta1 * firstMoment[i] + (1 - beta1) * g;
+                double v = beta2 * secondMoment[i] + (1 - beta2) * g * g;
+                firstMoment[i] = m;
+                secondMoment[i] = v;
+                parameters[i] -= stepSize * m / (Math.sqrt(v) + scaledEpsilon);
+            }
+        }
+
+        @Override
+        public int getStateSize() {
+            return 2 * firstMoment.length + 2;
+        }
+
+        @Override
+        public void saveState(double[] target) {
+            OptimizerState.validateState(target, getStateSize());
+            int size = firstMoment.length;
+            System.arraycopy(firstMoment, 0, target, 0, size);
+            System.arraycopy(secondMoment, 0, target, size, size);
+            target[2 * size] = beta1Power;
+            target[2 * size + 1] = beta2Power;
+        }
+
+        @Override
+        public void loadState(double[] source) {
+            OptimizerState.validateState(source, getStateSize());
+            int size = firstMoment.length;
+            System.arraycopy(source, 0, firstMoment, 0, size);
+            System.arraycopy(source, size, secondMoment, 0, size);
+            beta1Power = source[2 * size];
+            beta2Power = source[2 * size + 1];
+        }
+    }
+}
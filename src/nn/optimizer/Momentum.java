@@ -0,0 +1,74 @@
+package nn.optimizer;
+
+public class Momentum implements Optimizer {
+
+    private final double momentum;
+    private final boolean nesterov;
+
+    public Momentum() {
+        this(0.9, false);
+    }
+
+    public Momentum(double momentum) {
+        this(momentum, false);
+    }
+
+    public Momentum(double momentum, boolean nesterov) {
+        if (momentum < 0 || momentum >= 1) {
+            throw new IllegalArgumentException("Momentum must be in [0, 1), got " + momentum);
+        }
+        this.momentum = momentum;
+        this.nesterov = nesterov;
+    }
+
+    @Override
+    public OptimizerState createState(int parameterCount) {
+        return new State(new double[parameterCount]);
+    }
+
+    public double getMomentum() {
+        return momentum;
+    }
+
+    public boolean isNesterov() {
+        return nesterov;
+    }
+
+    private final class State implements OptimizerState {
+
+        private final double[] velocity;
+
+        State(double[] velocity) {
+            this.velocity = velocity;
+        }
+
+        @Override
+        public void update(double[] parameters, double[] gradient, double learningRate) {
+            OptimizerState.validate(parameters, gradient, velocity.length);
+
+            for (int i = 0; i < velocity.length; i++) {
+                double v = momentum * velocity[i] + gradient[i];
+                velocity[i] = v;
+                double step = nesterov ? gradient[i] + momentum * v : v;
+                parameters[i] -= learningRate * step;
+            }
+        }
+
+        @Override
+        public int getStateSize() {
+            return velocity.length;
+        }
+
+        @Override
+        public void saveState(double[] target) {
+            OptimizerState.validateState(target, velocity.length);
+            System.arraycopy(velocity, 0, target, 0, velocity.length);
+        }
+
+        @Override
+        public void loadState(double[] source) {
+            OptimizerState.validateState(source, velocity.length);
+            System.arraycopy(source, 0, velocity, 0, velocity.length);
+        }
+    }
+}
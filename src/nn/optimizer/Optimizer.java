@@ -0,0 +1,6 @@
+package nn.optimizer;
+
+public interface Optimizer {
+
+    OptimizerState createState(int parameterCount);
+}
@@ -0,0 +1,33 @@
+package nn.optimizer;
+
+public interface OptimizerState {
+
+    void update(double[] parameters, double[] gradient, double learningRate);
+
+    default int getStateSize() {
+        return 0;
+    }
+
+    default void saveState(double[] target) {
+        validateState(target, getStateSize());
+    }
+
+    default void loadState(double[] source) {
+        validateState(source, getStateSize());
+    }
+
+    static void validate(double[] parameters, double[] gradient, int size) {
+        if (parameters.length != size || gradient.length != size) {
+            throw new IllegalArgumentException(
+                    "Optimizer state holds " + size + " parameters, got " +
+                            parameters.length + " parameters and " + gradient.length + " gradients");
+        }
+    }
+
+    static void validateState(double[] state, int size) {
+        if (state.length != size) {
+            throw new IllegalArgumentException(
+                    "Optimizer state has " + size + " values, got " + state.length);
+        }
+    }
+}
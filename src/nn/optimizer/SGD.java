@@ -0,0 +1,26 @@
+package nn.optimizer;
+
+import nn.util.MatrixUtils;
+
+public class SGD implements Optimizer {
+
+    @Override
+    public OptimizerState createState(int parameterCount) {
+        return new State(parameterCount);
+    }
+
+    private static final class State implements OptimizerState {
+
+        private final int size;
+
+        State(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public void update(double[] parameters, double[] gradient, double learningRate) {
+            OptimizerState.validate(parameters, gradient, size);
+            MatrixUtils.addScaledInPlace(parameters, gradient, -learningRate);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package nn.training;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+public final class Checkpoint {
+
+    private static final int MAGIC = 0x4E4E434B;
+    private static final int VERSION = 1;
+
+    private final int epoch;
+    private final long shuffleSeed;
+    private final double[] lossHistory;
+    private final double[] validationLossHistory;
+    private final double bestLoss;
+    private final int bestEpoch;
+    private final int epochsWithoutImprovement;
+    private final double[][] weights;
+    private final double[][] optimizerState;
+    private final double[][] bestWeights;
+
+    Checkpoint(int epoch, long shuffleSeed, double[] lossHistory, double[] validationLossHistory,
+            double bestLoss, int bestEpoch, int epochsWithoutImprovement,
+            double[][] weights, double[][] optimizerState, double[][] bestWeights) {
+        this.epoch = epoch;
+        this.shuffleSeed = shuffleSeed;
+        this.lossHistory = lossHistory;
+        this.validationLossHistory = validationLossHistory;
+        this.bestLoss = bestLoss;
+        this.bestEpoch = bestEpoch;
+        this.epochsWithoutImprovement = epochsWithoutImprovement;
+        this.weights = weights;
+        this.optimizerState = optimizerState;
+        this.bestWeights = bestWeights;
+    }
+
+    public static Checkpoint read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a training checkpoint");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version " + version);
+            }
+            int epoch = in.readInt();
+            long shuffleSeed = in.readLong();
+            double bestLoss = in.readDouble();
+            int bestEpoch = in.readInt();
+            int epochsWithoutImprovement = in.readInt();
+            double[] lossHistory = readArray(in);
+            double[] validationLossHistory = readArray(in);
+            double[][] weights = readMatrix(in);
+            double[][] optimizerState = readMatrix(in);
+            double[][] bestWeights = in.readBoolean() ? readMatrix(in) : null;
+            if (epoch < 0 || lossHistory.length != epoch) {
+                throw new IOException(file + " has a corrupt checkpoint header");
+            }
+            return new Checkpoint(epoch, shuffleSeed, lossHistory, validationLossHistory, bestLoss, bestEpoch,
+                    epochsWithoutImprovement, weights, optimizerState, bestWeights);
+        }
+    }
+
+    void write(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(epoch);
+            out.writeLong(shuffleSeed);
+            out.writeDouble(bestLoss);
+            out.writeInt(bestEpoch);
+            out.writeInt(epochsWithoutImprovement);
+            writeArray(out, lossHistory);
+            writeArray(out, validationLossHistory);
+            writeMatrix(out, weights);
+            writeMatrix(out, optimizerState);
+            out.writeBoolean(bestWeights != null);
+            if (bestWeights != null) {
+                writeMatrix(out, bestWeights);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public int getEpoch() {
+        return epoch;
+    }
+
+    public double[] getLossHistory() {
+        return lossHistory.clone();
+    }
+
+    public double[] getValidationLossHistory() {
+        return validationLossHistory.clone();
+    }
+
+    public int getBestEpoch() {
+        return bestEpoch;
+    }
+
+    long getShuffleSeed() {
+        return shuffleSeed;
+    }
+
+    double getBestLoss() {
+        return bestLoss;
+    }
+
+    int getEpochsWithoutImprovement() {
+        return epochsWithoutImprovement;
+    }
+
+    double[][] weights() {
+        return weights;
+    }
+
+    double[][] optimizerState() {
+        return optimizerState;
+    }
+
+    double[][] bestWeights() {
+        return bestWeights;
+    }
+
+    private static void writeArray(DataOutputStream out, double[] values) throws IOException {
+        out.writeInt(values.length);
+        for (double value : values) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static void writeMatrix(DataOutputStream out, double[][] values) throws IOException {
+        out.writeInt(values.length);
+        for (double[] row : values) {
+            writeArray(out, row);
+        }
+    }
+
+    private static double[] readArray(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Corrupt checkpoint array length " + length);
+        }
+        double[] values = new double[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readDouble();
+        }
+        return values;
+    }
+
+    private static double[][] readMatrix(DataInputStream in) throws IOException {
+        int rows = in.readInt();
+        if (rows < 0) {
+            throw new IOException("Corrupt checkpoint matrix size " + rows);
+        }
+        double[][] values = new double[rows][];
+        for (int i = 0; i < rows; i++) {
+            values[i] = readArray(in);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,59 @@
+package nn.training;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+final class CheckpointWriter implements AutoCloseable {
+
+    private final Path path;
+    private final ExecutorService executor;
+    private final AtomicBoolean busy = new AtomicBoolean();
+    private volatile IOException failure;
+
+    CheckpointWriter(Path path) {
+        this.path = path;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    boolean isBusy() {
+        return busy.get();
+    }
+
+    boolean submit(Checkpoint checkpoint) {
+        if (!busy.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                checkpoint.write(path);
+            } catch (IOException e) {
+                failure = e;
+            } finally {
+                busy.set(false);
+            }
+        });
+        return true;
+    }
+
+    IOException getFailure() {
+        return failure;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
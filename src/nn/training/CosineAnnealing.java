@@ -0,0 +1,39 @@
+package nn.training;
+
+public class CosineAnnealing implements LearningRateSchedule {
+
+    private final int period;
+    private final int periodMultiplier;
+    private final double minRate;
+
+    public CosineAnnealing(int period, double minRate) {
+        this(period, 1, minRate);
+    }
+
+    public CosineAnnealing(int period, int periodMultiplier, double minRate) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1, got " + period);
+        }
+        if (periodMultiplier < 1) {
+            throw new IllegalArgumentException("Period multiplier must be at least 1, got " + periodMultiplier);
+        }
+        if (minRate < 0) {
+            throw new IllegalArgumentException("Minimum rate cannot be negative, got " + minRate);
+        }
+        this.period = period;
+        this.periodMultiplier = periodMultiplier;
+        this.minRate = minRate;
+    }
+
+    @Override
+    public double learningRate(int epoch, double baseRate) {
+        long cycleLength = period;
+        long position = epoch;
+        while (position >= cycleLength) {
+            position -= cycleLength;
+            cycleLength *= periodMultiplier;
+        }
+        double progress = (double) position / cycleLength;
+        return minRate + 0.5 * (baseRate - minRate) * (1 + Math.cos(Math.PI * progress));
+    }
+}
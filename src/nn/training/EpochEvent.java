@@ -0,0 +1,40 @@
+package nn.training;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("nn.training.Epoch")
+@Label("Training Epoch")
+@Category({ "Neural Network", "Training" })
+@StackTrace(false)
+final class EpochEvent extends jdk.jfr.Event {
+
+    @Label("Epoch")
+    int epoch;
+
+    @Label("Samples")
+    long samples;
+
+    @Label("Loss")
+    double loss;
+
+    @Label("Validation Loss")
+    double validationLoss;
+
+    @Label("Learning Rate")
+    double learningRate;
+
+    void commit(int epoch, long samples, double loss, double validationLoss, double learningRate) {
+        end();
+        if (shouldCommit()) {
+            this.epoch = epoch;
+            this.samples = samples;
+            this.loss = loss;
+            this.validationLoss = validationLoss;
+            this.learningRate = learningRate;
+            commit();
+        }
+    }
+}
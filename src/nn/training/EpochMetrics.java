@@ -0,0 +1,116 @@
+package nn.training;
+
+public final class EpochMetrics {
+
+    private final int epoch;
+    private final double loss;
+    private final double validationLoss;
+    private final double learningRate;
+    private final long samples;
+    private final long epochNanos;
+    private final long allocatedBytes;
+    private final long lossNanos;
+    private final long[] forwardNanos;
+    private final long[] backwardNanos;
+    private final long[] updateNanos;
+    private final double[] gradientNorms;
+
+    EpochMetrics(int epoch, double loss, double validationLoss, double learningRate, long samples,
+            long epochNanos, long allocatedBytes, long lossNanos, long[] forwardNanos, long[] backwardNanos,
+            long[] updateNanos, double[] gradientNorms) {
+        this.epoch = epoch;
+        this.loss = loss;
+        this.validationLoss = validationLoss;
+        this.learningRate = learningRate;
+        this.samples = samples;
+        this.epochNanos = epochNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.lossNanos = lossNanos;
+        this.forwardNanos = forwardNanos;
+        this.backwardNanos = backwardNanos;
+        this.updateNanos = updateNanos;
+        this.gradientNorms = gradientNorms;
+    }
+
+    EpochMetrics withValidationLoss(double validationLoss) {
+        return new EpochMetrics(epoch, loss, validationLoss, learningRate, samples, epochNanos, allocatedBytes,
+                lossNanos, forwardNanos, backwardNanos, updateNanos, gradientNorms);
+    }
+
+    public int getEpoch() {
+        return epoch;
+    }
+
+    public double getLoss() {
+        return loss;
+    }
+
+    public double getValidationLoss() {
+        return validationLoss;
+    }
+
+    public double getLearningRate() {
+        return learningRate;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public long getEpochNanos() {
+        return epochNanos;
+    }
+
+    public double getSamplesPerSecond() {
+        return epochNanos > 0 ? samples * 1e9 / epochNanos : Double.NaN;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getLossNanos() {
+        return lossNanos;
+    }
+
+    public long[] getForwardNanos() {
+        return forwardNanos.clone();
+    }
+
+    public long[] getBackwardNanos() {
+        return backwardNanos.clone();
+    }
+
+    public long[] getUpdateNanos() {
+        return updateNanos.clone();
+    }
+
+    public double[] getGradientNorms() {
+        return gradientNorms.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Epoch ").append(epoch + 1)
+                .append(" - loss ").append(String.format("%.6f", loss));
+        if (!Double.isNaN(validationLoss)) {
+            sb.append(", validation ").append(String.format("%.6f", validationLoss));
+        }
+        sb.append(", ").append(String.format("%.0f", getSamplesPerSecond())).append(" samples/s");
+        if (allocatedBytes >= 0) {
+            sb.append(", ").append(allocatedBytes / 1024).append(" KB allocated");
+        }
+        sb.append(", loss ").append(lossNanos / 1000).append(" us");
+        for (int i = 0; i < forwardNanos.length; i++) {
+            sb.append(", layer ").append(i)
+                    .append(" fwd/bwd/upd ").append(forwardNanos[i] / 1000)
+                    .append('/').append(backwardNanos[i] / 1000)
+                    .append('/').append(updateNanos[i] / 1000).append(" us");
+            if (!Double.isNaN(gradientNorms[i])) {
+                sb.append(" |g| ").append(String.format("%.3g", gradientNorms[i]));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,18 @@
+package nn.training;
+
+public class ExponentialDecay implements LearningRateSchedule {
+
+    private final double decayRate;
+
+    public ExponentialDecay(double decayRate) {
+        if (decayRate <= 0) {
+            throw new IllegalArgumentException("Decay rate must be positive, got " + decayRate);
+        }
+        this.decayRate = decayRate;
+    }
+
+    @Override
+    public double learningRate(int epoch, double baseRate) {
+        return baseRate * Math.pow(decayRate, epoch);
+    }
+}
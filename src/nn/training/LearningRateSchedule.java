@@ -0,0 +1,6 @@
+package nn.training;
+
+public interface LearningRateSchedule {
+
+    double learningRate(int epoch, double baseRate);
+}
@@ -0,0 +1,27 @@
+package nn.training;
+
+public class LinearWarmup implements LearningRateSchedule {
+
+    private final int warmupEpochs;
+    private final LearningRateSchedule after;
+
+    public LinearWarmup(int warmupEpochs) {
+        this(warmupEpochs, null);
+    }
+
+    public LinearWarmup(int warmupEpochs, LearningRateSchedule after) {
+        if (warmupEpochs < 1) {
+            throw new IllegalArgumentException("Warm-up must last at least 1 epoch, got " + warmupEpochs);
+        }
+        this.warmupEpochs = warmupEpochs;
+        this.after = after;
+    }
+
+    @Override
+    public double learningRate(int epoch, double baseRate) {
+        if (epoch < warmupEpochs) {
+            return baseRate * (epoch + 1) / warmupEpochs;
+        }
+        return after != null ? after.learningRate(epoch - warmupEpochs, baseRate) : baseRate;
+    }
+}
@@ -0,0 +1,6 @@
+package nn.training;
+
+public enum ParallelMode {
+    SYNCHRONOUS,
+    HOGWILD
+}
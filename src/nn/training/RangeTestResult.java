@@ -0,0 +1,36 @@
+package nn.training;
+
+public class RangeTestResult {
+
+    private final double[] learningRates;
+    private final double[] losses;
+    private final double suggestedLearningRate;
+
+    RangeTestResult(double[] learningRates, double[] losses) {
+        this.learningRates = learningRates;
+        this.losses = losses;
+        this.suggestedLearningRate = suggest(learningRates, losses);
+    }
+
+    public double[] getLearningRates() {
+        return learningRates.clone();
+    }
+
+    public double[] getLosses() {
+        return losses.clone();
+    }
+
+    public double getSuggestedLearningRate() {
+        return suggestedLearningRate;
+    }
+
+    private static double suggest(double[] learningRates, double[] losses) {
+        int best = 0;
+        for (int i = 1; i < losses.length; i++) {
+            if (losses[i] < losses[best]) {
+                best = i;
+            }
+        }
+        return learningRates[best] / 10;
+    }
+}
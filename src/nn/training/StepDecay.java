@@ -0,0 +1,23 @@
+package nn.training;
+
+public class StepDecay implements LearningRateSchedule {
+
+    private final int stepSize;
+    private final double factor;
+
+    public StepDecay(int stepSize, double factor) {
+        if (stepSize < 1) {
+            throw new IllegalArgumentException("Step size must be at least 1, got " + stepSize);
+        }
+        if (factor <= 0) {
+            throw new IllegalArgumentException("Decay factor must be positive, got " + factor);
+        }
+        this.stepSize = stepSize;
+        this.factor = factor;
+    }
+
+    @Override
+    public double learningRate(int epoch, double baseRate) {
+        return baseRate * Math.pow(factor, epoch / stepSize);
+    }
+}
@@ -1,13 +1,42 @@
 package nn.training;
 
+import com.sun.management.ThreadMXBean;
+import nn.core.NetworkProfiler;
 import nn.core.NeuralNetwork;
+import nn.data.ArrayDataSource;
+import nn.data.DataSource;
+import nn.data.RandomAccessDataSource;
+import nn.optimizer.Optimizer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class Trainer {
 
+    private static final int BLOCK_ROWS = 4096;
+
     private NeuralNetwork network;
     private TrainingConfig config;
     private double[] lossHistory;
+    private double[] validationLossHistory;
+    private int bestEpoch;
+    private int epochsToConvergence;
+    private long nanosToConvergence;
+    private double learningRate;
+    private Checkpoint resumeFrom;
+    private long epochSamples;
 
     public Trainer(NeuralNetwork network, TrainingConfig config) {
         this.network = network;
@@ -19,55 +48,602 @@ public class Trainer {
     }
 
     public double[] train(double[][] inputs, double[][] expected) {
+        return train(inputs, expected, null, null);
+    }
+
+    public double[] train(double[][] inputs, double[][] expected,
+            double[][] validationInputs, double[][] validationExpected) {
         if (inputs.length != expected.length) {
             throw new IllegalArgumentException(
                     "Inputs and expected arrays must have same length");
         }
+        validateValidationSet(validationInputs, validationExpected);
 
-        int numSamples = inputs.length;
-        int epochs = config.getEpochs();
-        lossHistory = new double[epochs];
+        int[] indices = sequence(inputs.length);
+        DataSource validation = validationInputs != null
+                ? new ArrayDataSource(validationInputs, validationExpected)
+                : null;
+        return train((random, executor) -> {
+            if (config.isShuffle()) {
+                fillSequence(indices);
+                shuffleArray(indices, random);
+            }
+            epochSamples = indices.length;
+            return trainEpoch(inputs, expected, indices, indices.length, executor) / indices.length;
+        }, validation);
+    }
 
-        int[] indices = new int[numSamples];
-        for (int i = 0; i < numSamples; i++) {
-            indices[i] = i;
+    public double[] train(DataSource source) {
+        return train(source, null);
+    }
+
+    public double[] train(DataSource source, DataSource validation) {
+        int batchSize = Math.max(1, config.getBatchSize());
+        int blockRows = batchSize * Math.max(1, (BLOCK_ROWS + batchSize - 1) / batchSize);
+        if (source instanceof RandomAccessDataSource
+                && ((RandomAccessDataSource) source).getRowCount() <= Integer.MAX_VALUE) {
+            return train(randomAccessRunner((RandomAccessDataSource) source, blockRows), validation);
         }
+        return train(streamingRunner(source, blockRows), validation);
+    }
 
-        Random random = new Random();
+    public Trainer resume(Checkpoint checkpoint) {
+        this.resumeFrom = checkpoint;
+        return this;
+    }
 
-        for (int epoch = 0; epoch < epochs; epoch++) {
+    private Checkpoint captureCheckpoint(int epochsRun, long shuffleSeed, double bestLoss,
+            int epochsWithoutImprovement, double[][] bestWeights) {
+        double[][] bestCopy = null;
+        if (bestWeights != null) {
+            bestCopy = new double[bestWeights.length][];
+            for (int i = 0; i < bestCopy.length; i++) {
+                bestCopy[i] = bestWeights[i].clone();
+            }
+        }
+        return new Checkpoint(epochsRun, shuffleSeed,
+                Arrays.copyOf(lossHistory, epochsRun),
+                Arrays.copyOf(validationLossHistory, Math.min(epochsRun, validationLossHistory.length)),
+                bestLoss, bestEpoch, epochsWithoutImprovement,
+                network.snapshotWeights(), network.snapshotOptimizerState(), bestCopy);
+    }
 
+    private static void copyWeights(double[][] source, double[][] target) {
+        if (source.length != target.length) {
+            throw new IllegalArgumentException(
+                    "Checkpoint has " + source.length + " layers, network has " + target.length);
+        }
+        for (int i = 0; i < source.length; i++) {
+            if (source[i].length != target[i].length) {
+                throw new IllegalArgumentException("Checkpoint layer " + i + " has a different shape");
+            }
+            System.arraycopy(source[i], 0, target[i], 0, source[i].length);
+        }
+    }
+
+    private EpochRunner randomAccessRunner(RandomAccessDataSource source, int blockRows) {
+        int numSamples = (int) source.getRowCount();
+        int rows = Math.min(numSamples, blockRows);
+        double[][] blockInputs = new double[rows][source.getInputColumns()];
+        double[][] blockExpected = new double[rows][source.getOutputColumns()];
+        int[] blockIndices = sequence(rows);
+        int[] indices = sequence(numSamples);
+
+        return (random, executor) -> {
             if (config.isShuffle()) {
+                fillSequence(indices);
                 shuffleArray(indices, random);
             }
+            double totalLoss = 0;
+            for (int start = 0; start < numSamples; start += rows) {
+                int count = Math.min(rows, numSamples - start);
+                for (int i = 0; i < count; i++) {
+                    source.readRow(indices[start + i], blockInputs[i], 0, blockExpected[i], 0);
+                }
+                totalLoss += trainEpoch(blockInputs, blockExpected, blockIndices, count, executor);
+            }
+            epochSamples = numSamples;
+            return totalLoss / numSamples;
+        };
+    }
+
+    private EpochRunner streamingRunner(DataSource source, int blockRows) {
+        int inputColumns = source.getInputColumns();
+        int outputColumns = source.getOutputColumns();
+        double[][] blockInputs = new double[blockRows][inputColumns];
+        double[][] blockExpected = new double[blockRows][outputColumns];
+        int[] blockIndices = sequence(blockRows);
+        int bufferRows = config.isShuffle() ? Math.max(1, config.getShuffleBufferSize()) : 0;
+        double[][] bufferInputs = new double[bufferRows][];
+        double[][] bufferExpected = new double[bufferRows][];
 
+        return (random, executor) -> {
             double totalLoss = 0;
+            long samples = 0;
+            int count = 0;
+            int filled = 0;
+            boolean more = true;
 
-            for (int i = 0; i < numSamples; i++) {
-                int idx = indices[i];
-                double loss = network.train(
-                        inputs[idx],
-                        expected[idx],
-                        config.getLearningRate());
-                totalLoss += loss;
+            try (DataSource.Cursor cursor = source.open()) {
+                while (true) {
+                    if (bufferRows == 0) {
+                        if (!cursor.next(blockInputs[count], blockExpected[count])) {
+                            break;
+                        }
+                    } else {
+                        while (more && filled < bufferRows) {
+                            if (bufferInputs[filled] == null) {
+                                bufferInputs[filled] = new double[inputColumns];
+                                bufferExpected[filled] = new double[outputColumns];
+                            }
+                            more = cursor.next(bufferInputs[filled], bufferExpected[filled]);
+                            if (more) {
+                                filled++;
+                            }
+                        }
+                        if (filled == 0) {
+                            break;
+                        }
+                        int pick = random.nextInt(filled);
+                        filled--;
+                        swapRows(blockInputs, count, bufferInputs, pick);
+                        swapRows(blockExpected, count, bufferExpected, pick);
+                        swapRows(bufferInputs, pick, bufferInputs, filled);
+                        swapRows(bufferExpected, pick, bufferExpected, filled);
+                    }
+
+                    count++;
+                    if (count == blockRows) {
+                        totalLoss += trainEpoch(blockInputs, blockExpected, blockIndices, count, executor);
+                        samples += count;
+                        count = 0;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Reading training data failed", e);
             }
 
-            double avgLoss = totalLoss / numSamples;
-            lossHistory[epoch] = avgLoss;
+            if (count > 0) {
+                totalLoss += trainEpoch(blockInputs, blockExpected, blockIndices, count, executor);
+                samples += count;
+            }
+            if (samples == 0) {
+                throw new IllegalArgumentException("Cannot train on empty data");
+            }
+            epochSamples = samples;
+            return totalLoss / samples;
+        };
+    }
 
-            if (config.isVerbose() && (epoch + 1) % config.getPrintEvery() == 0) {
-                System.out
-                        .println("Epoch " + (epoch + 1) + "/" + epochs + " - Loss: " + String.format("%.6f", avgLoss));
+    private static void validateValidationSet(double[][] validationInputs, double[][] validationExpected) {
+        if ((validationInputs == null) != (validationExpected == null)) {
+            throw new IllegalArgumentException("Validation inputs and expected must both be given");
+        }
+        if (validationInputs != null && (validationInputs.length == 0
+                || validationInputs.length != validationExpected.length)) {
+            throw new IllegalArgumentException(
+                    "Validation inputs and expected arrays must be non-empty and have same length");
+        }
+    }
+
+    private double[] train(EpochRunner runner, DataSource validation) {
+        int epochs = config.getEpochs();
+        int batchSize = config.getBatchSize();
+        int threads = config.getThreads();
+        int patience = config.getPatience();
+        double minDelta = config.getMinDelta();
+        Double targetLoss = config.getTargetLoss();
+        long budgetNanos = config.getTimeBudget() != null ? config.getTimeBudget().toNanos() : Long.MAX_VALUE;
+        lossHistory = new double[epochs];
+        validationLossHistory = validation != null ? new double[epochs] : new double[0];
+        bestEpoch = -1;
+        epochsToConvergence = -1;
+        nanosToConvergence = -1;
+        Double convergenceLoss = config.getConvergenceLoss();
+        LearningRateSchedule schedule = config.getSchedule();
+
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1, got " + batchSize);
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1, got " + threads);
+        }
+        if (threads > 1 && config.getParallelMode() == ParallelMode.SYNCHRONOUS && batchSize < threads) {
+            throw new IllegalArgumentException("SYNCHRONOUS training splits each mini-batch across threads, so the "
+                    + "batch size (" + batchSize + ") must be at least the thread count (" + threads + ")");
+        }
+        if (patience < 0) {
+            throw new IllegalArgumentException("Patience cannot be negative, got " + patience);
+        }
+        if (minDelta < 0) {
+            throw new IllegalArgumentException("Min delta cannot be negative, got " + minDelta);
+        }
+        if (budgetNanos <= 0) {
+            throw new IllegalArgumentException("Time budget must be positive");
+        }
+
+        if (config.getOptimizer() != null) {
+            network.setOptimizer(config.getOptimizer());
+        }
+
+        Checkpoint resumed = resumeFrom;
+        resumeFrom = null;
+        if (resumed != null) {
+            network.restoreWeights(resumed.weights());
+            network.restoreOptimizerState(resumed.optimizerState());
+        }
+        long shuffleSeed = resumed != null ? resumed.getShuffleSeed()
+                : config.getSeed() != null ? config.getSeed() : new Random().nextLong();
+
+        List<TrainingListener> listeners = config.getListeners();
+        boolean observed = !listeners.isEmpty();
+        boolean wasProfiling = network.getProfiler() != null;
+        NetworkProfiler profiler = null;
+        if (observed) {
+            network.setProfiling(true);
+            profiler = network.getProfiler();
+        }
+        List<Thread> workers = observed ? new CopyOnWriteArrayList<>() : null;
+
+        ExecutorService executor = null;
+        if (threads > 1) {
+            executor = observed
+                    ? Executors.newFixedThreadPool(threads, runnable -> {
+                        Thread worker = Executors.defaultThreadFactory().newThread(runnable);
+                        workers.add(worker);
+                        return worker;
+                    })
+                    : Executors.newFixedThreadPool(threads);
+        }
+
+        boolean restoreBest = config.isRestoreBestWeights();
+        double[][] bestWeights = restoreBest ? network.snapshotWeights() : null;
+        double bestLoss = Double.POSITIVE_INFINITY;
+        int epochsWithoutImprovement = 0;
+        int epochsRun = 0;
+        if (resumed != null) {
+            epochsRun = Math.min(resumed.getEpoch(), epochs);
+            System.arraycopy(resumed.getLossHistory(), 0, lossHistory, 0, epochsRun);
+            if (validation != null && resumed.getValidationLossHistory().length >= epochsRun) {
+                System.arraycopy(resumed.getValidationLossHistory(), 0, validationLossHistory, 0, epochsRun);
+            }
+            bestLoss = resumed.getBestLoss();
+            bestEpoch = resumed.getBestEpoch();
+            epochsWithoutImprovement = resumed.getEpochsWithoutImprovement();
+            if (restoreBest && resumed.bestWeights() != null) {
+                copyWeights(resumed.bestWeights(), bestWeights);
+            }
+        }
+        String stopReason = null;
+        long startTime = System.nanoTime();
+
+        Path checkpointPath = config.getCheckpointPath();
+        int checkpointEvery = config.getCheckpointEvery();
+        long checkpointNanos = config.getCheckpointInterval() != null
+                ? config.getCheckpointInterval().toNanos()
+                : Long.MAX_VALUE;
+        if (checkpointEvery < 0) {
+            throw new IllegalArgumentException("Checkpoint frequency cannot be negative, got " + checkpointEvery);
+        }
+        if (checkpointPath != null && checkpointEvery == 0 && checkpointNanos == Long.MAX_VALUE) {
+            checkpointEvery = 1;
+        }
+        CheckpointWriter checkpointWriter = checkpointPath != null ? new CheckpointWriter(checkpointPath) : null;
+        int checkpointedEpoch = epochsRun;
+        long lastCheckpoint = startTime;
+
+        try {
+            for (int epoch = epochsRun; epoch < epochs; epoch++) {
+
+                learningRate = schedule != null
+                        ? schedule.learningRate(epoch, config.getLearningRate())
+                        : config.getLearningRate();
+
+                EpochEvent event = new EpochEvent();
+                event.begin();
+                Random random = new Random(shuffleSeed ^ (epoch + 1) * 0x9E3779B97F4A7C15L);
+                long epochStart = 0;
+                long allocatedBefore = 0;
+                if (observed) {
+                    profiler.reset();
+                    allocatedBefore = allocatedBytes(workers);
+                    epochStart = System.nanoTime();
+                }
+                double avgLoss = runner.run(random, executor);
+                EpochMetrics metrics = null;
+                if (observed) {
+                    long epochNanos = System.nanoTime() - epochStart;
+                    long allocatedAfter = allocatedBytes(workers);
+                    metrics = new EpochMetrics(epoch, avgLoss, Double.NaN, learningRate, epochSamples, epochNanos,
+                            allocatedBefore >= 0 && allocatedAfter >= 0 ? allocatedAfter - allocatedBefore : -1,
+                            profiler.getLossNanos(), profiler.getForwardNanos(), profiler.getBackwardNanos(),
+                            profiler.getUpdateNanos(), profiler.getMeanGradientNorms());
+                }
+                lossHistory[epoch] = avgLoss;
+                epochsRun = epoch + 1;
+
+                double monitoredLoss = avgLoss;
+                if (validation != null) {
+                    monitoredLoss = evaluate(validation);
+                    validationLossHistory[epoch] = monitoredLoss;
+                }
+                event.commit(epoch, epochSamples, avgLoss, validation != null ? monitoredLoss : Double.NaN,
+                        learningRate);
+
+                if (observed) {
+                    if (validation != null) {
+                        metrics = metrics.withValidationLoss(monitoredLoss);
+                    }
+                    for (TrainingListener listener : listeners) {
+                        listener.onEpochEnd(metrics);
+                    }
+                }
+
+                if (config.isVerbose() && (epoch + 1) % config.getPrintEvery() == 0) {
+                    System.out
+                            .println("Epoch " + (epoch + 1) + "/" + epochs + " - Loss: "
+                                    + String.format("%.6f", avgLoss)
+                                    + (validation != null
+                                            ? " - Validation Loss: " + String.format("%.6f", monitoredLoss)
+                                            : "")
+                                    + (schedule != null ? " - LR: " + String.format("%.6g", learningRate) : ""));
+                }
+
+                if (convergenceLoss != null && epochsToConvergence < 0 && monitoredLoss <= convergenceLoss) {
+                    epochsToConvergence = epoch + 1;
+                    nanosToConvergence = System.nanoTime() - startTime;
+                }
+
+                if (monitoredLoss < bestLoss - minDelta) {
+                    bestLoss = monitoredLoss;
+                    bestEpoch = epoch;
+                    epochsWithoutImprovement = 0;
+                    if (restoreBest) {
+                        network.snapshotWeights(bestWeights);
+                    }
+                } else {
+                    epochsWithoutImprovement++;
+                }
+
+                if (checkpointWriter != null && !checkpointWriter.isBusy()
+                        && ((checkpointEvery > 0 && epochsRun % checkpointEvery == 0)
+                                || System.nanoTime() - lastCheckpoint >= checkpointNanos)) {
+                    checkpointWriter.submit(captureCheckpoint(epochsRun, shuffleSeed, bestLoss,
+                            epochsWithoutImprovement, bestWeights));
+                    checkpointedEpoch = epochsRun;
+                    lastCheckpoint = System.nanoTime();
+                }
+
+                if (targetLoss != null && monitoredLoss <= targetLoss) {
+                    stopReason = "target loss reached";
+                    break;
+                }
+                if (patience > 0 && epochsWithoutImprovement >= patience) {
+                    stopReason = "no improvement for " + patience + " epochs";
+                    break;
+                }
+                if (System.nanoTime() - startTime >= budgetNanos) {
+                    stopReason = "time budget exhausted";
+                    break;
+                }
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            if (checkpointWriter != null) {
+                checkpointWriter.close();
+            }
+            if (observed && !wasProfiling) {
+                network.setProfiling(false);
             }
         }
 
+        if (checkpointWriter != null) {
+            try {
+                if (checkpointWriter.getFailure() != null) {
+                    throw checkpointWriter.getFailure();
+                }
+                if (checkpointedEpoch != epochsRun) {
+                    captureCheckpoint(epochsRun, shuffleSeed, bestLoss, epochsWithoutImprovement, bestWeights)
+                            .write(checkpointPath);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Writing checkpoint " + checkpointPath + " failed", e);
+            }
+        }
+
+        if (epochsRun < epochs) {
+            lossHistory = Arrays.copyOf(lossHistory, epochsRun);
+            if (validation != null) {
+                validationLossHistory = Arrays.copyOf(validationLossHistory, epochsRun);
+            }
+        }
+        boolean restored = restoreBest && bestEpoch >= 0 && bestEpoch < epochsRun - 1;
+        if (restored) {
+            network.restoreWeights(bestWeights);
+        }
+
         if (config.isVerbose()) {
-            System.out.println("Training complete. Final loss: " + String.format("%.6f", lossHistory[epochs - 1]));
+            if (stopReason != null) {
+                System.out.println("Stopped after epoch " + epochsRun + ": " + stopReason +
+                        " (best epoch " + (bestEpoch + 1) + ")");
+            }
+            if (epochsToConvergence >= 0) {
+                System.out.println("Reached loss " + convergenceLoss + " after " + epochsToConvergence +
+                        " epochs (" + nanosToConvergence / 1_000_000 + " ms)");
+            }
+            System.out.println("Training complete. Final loss: " + String.format("%.6f", lossHistory[epochsRun - 1]));
+            if (restored) {
+                System.out.println("Restored weights from epoch " + (bestEpoch + 1));
+            }
         }
 
         return lossHistory;
     }
 
+    private double trainEpoch(double[][] inputs, double[][] expected, int[] indices, int count,
+            ExecutorService executor) {
+        int batchSize = config.getBatchSize();
+        if (executor == null) {
+            return batchSize == 1
+                    ? trainSamples(inputs, expected, indices, count)
+                    : trainBatches(inputs, expected, indices, 0, count, batchSize);
+        } else if (config.getParallelMode() == ParallelMode.HOGWILD) {
+            return trainHogwild(inputs, expected, indices, count, batchSize, executor, config.getThreads());
+        } else {
+            return trainSynchronous(inputs, expected, indices, count, batchSize, executor, config.getThreads());
+        }
+    }
+
+    private double trainSamples(double[][] inputs, double[][] expected, int[] indices, int count) {
+        double totalLoss = 0;
+
+        for (int i = 0; i < count; i++) {
+            int idx = indices[i];
+            double loss = network.train(
+                    inputs[idx],
+                    expected[idx],
+                    learningRate);
+            totalLoss += loss;
+        }
+
+        return totalLoss;
+    }
+
+    private double trainBatches(double[][] inputs, double[][] expected, int[] indices,
+            int from, int to, int batchSize) {
+        double totalLoss = 0;
+
+        for (int start = from; start < to; start += batchSize) {
+            int end = Math.min(start + batchSize, to);
+            totalLoss += network.trainBatch(inputs, expected, indices, start, end, learningRate) * (end - start);
+        }
+
+        return totalLoss;
+    }
+
+    private double trainSynchronous(double[][] inputs, double[][] expected, int[] indices, int numSamples,
+            int batchSize, ExecutorService executor, int threads) {
+        double totalLoss = 0;
+
+        for (int start = 0; start < numSamples; start += batchSize) {
+            int end = Math.min(start + batchSize, numSamples);
+            totalLoss += network.trainBatch(inputs, expected, indices, start, end, learningRate, executor, threads)
+                    * (end - start);
+        }
+
+        return totalLoss;
+    }
+
+    private double trainHogwild(double[][] inputs, double[][] expected, int[] indices, int numSamples,
+            int batchSize, ExecutorService executor, int threads) {
+        int shardCount = Math.min(threads, numSamples);
+        List<Callable<Double>> shards = new ArrayList<>(shardCount);
+
+        for (int t = 0; t < shardCount; t++) {
+            int shardStart = (int) ((long) numSamples * t / shardCount);
+            int shardEnd = (int) ((long) numSamples * (t + 1) / shardCount);
+            shards.add(() -> trainBatches(inputs, expected, indices, shardStart, shardEnd, batchSize));
+        }
+
+        double totalLoss = 0;
+        for (double shardLoss : runAll(executor, shards)) {
+            totalLoss += shardLoss;
+        }
+        return totalLoss;
+    }
+
+    private static double[] runAll(ExecutorService executor, List<Callable<Double>> tasks) {
+        try {
+            List<Future<Double>> futures = executor.invokeAll(tasks);
+            double[] results = new double[futures.size()];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = futures.get(i).get();
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Training was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Training worker failed", cause);
+        }
+    }
+
+    public RangeTestResult learningRateRangeTest(double[][] inputs, double[][] expected,
+            double minRate, double maxRate, int steps) {
+        if (inputs.length != expected.length || inputs.length == 0) {
+            throw new IllegalArgumentException(
+                    "Inputs and expected arrays must be non-empty and have same length");
+        }
+        if (minRate <= 0 || maxRate <= minRate) {
+            throw new IllegalArgumentException(
+                    "Learning rate range must satisfy 0 < min < max, got [" + minRate + ", " + maxRate + "]");
+        }
+        if (steps < 2) {
+            throw new IllegalArgumentException("Range test needs at least 2 steps, got " + steps);
+        }
+
+        Optimizer initialOptimizer = network.getOptimizer();
+        double[][] initialOptimizerState = network.snapshotOptimizerState();
+        double[][] initialWeights = network.snapshotWeights();
+        if (config.getOptimizer() != null) {
+            network.setOptimizer(config.getOptimizer());
+        }
+        Random random = config.getSeed() != null ? new Random(config.getSeed()) : new Random();
+        int batchSize = Math.min(config.getBatchSize(), inputs.length);
+
+        int[] indices = new int[inputs.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+
+        double[] rates = new double[steps];
+        double[] losses = new double[steps];
+        double growth = Math.pow(maxRate / minRate, 1.0 / (steps - 1));
+        double averageLoss = 0;
+        double bestLoss = Double.POSITIVE_INFINITY;
+        int completed = 0;
+        int position = inputs.length;
+
+        try {
+            for (int step = 0; step < steps; step++) {
+                if (position + batchSize > inputs.length) {
+                    shuffleArray(indices, random);
+                    position = 0;
+                }
+
+                double rate = minRate * Math.pow(growth, step);
+                double loss = network.trainBatch(inputs, expected, indices, position, position + batchSize, rate);
+                position += batchSize;
+
+                averageLoss = 0.98 * averageLoss + 0.02 * loss;
+                double smoothedLoss = averageLoss / (1 - Math.pow(0.98, step + 1));
+                rates[step] = rate;
+                losses[step] = smoothedLoss;
+                completed = step + 1;
+
+                if (Double.isNaN(smoothedLoss) || smoothedLoss > 4 * bestLoss) {
+                    break;
+                }
+                bestLoss = Math.min(bestLoss, smoothedLoss);
+            }
+        } finally {
+            network.restoreWeights(initialWeights);
+            network.setOptimizer(initialOptimizer);
+            network.restoreOptimizerState(initialOptimizerState);
+        }
+
+        return new RangeTestResult(Arrays.copyOf(rates, completed), Arrays.copyOf(losses, completed));
+    }
+
     public double evaluate(double[][] inputs, double[][] expected) {
         if (inputs.length != expected.length) {
             throw new IllegalArgumentException(
@@ -84,10 +660,90 @@ public class Trainer {
         return totalLoss / inputs.length;
     }
 
+    public double evaluate(DataSource source) {
+        double[] input = new double[source.getInputColumns()];
+        double[] expected = new double[source.getOutputColumns()];
+        double totalLoss = 0;
+        long count = 0;
+
+        try (DataSource.Cursor cursor = source.open()) {
+            while (cursor.next(input, expected)) {
+                double[] prediction = network.predict(input);
+                totalLoss += network.getLoss(prediction, expected);
+                count++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reading evaluation data failed", e);
+        }
+        if (count == 0) {
+            throw new IllegalArgumentException("Cannot evaluate on empty data");
+        }
+
+        return totalLoss / count;
+    }
+
     public double[] getLossHistory() {
         return lossHistory != null ? lossHistory.clone() : new double[0];
     }
 
+    public double[] getValidationLossHistory() {
+        return validationLossHistory != null ? validationLossHistory.clone() : new double[0];
+    }
+
+    public int getBestEpoch() {
+        return bestEpoch;
+    }
+
+    public int getEpochsToConvergence() {
+        return epochsToConvergence;
+    }
+
+    public Duration getTimeToConvergence() {
+        return nanosToConvergence >= 0 ? Duration.ofNanos(nanosToConvergence) : null;
+    }
+
+    private interface EpochRunner {
+
+        double run(Random random, ExecutorService executor);
+    }
+
+    private static long allocatedBytes(List<Thread> workers) {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof ThreadMXBean)) {
+            return -1;
+        }
+        ThreadMXBean threads = (ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        long total = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        for (Thread worker : workers) {
+            long bytes = threads.getThreadAllocatedBytes(worker.getId());
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+        return total;
+    }
+
+    private static int[] sequence(int length) {
+        int[] result = new int[length];
+        fillSequence(result);
+        return result;
+    }
+
+    private static void fillSequence(int[] array) {
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i;
+        }
+    }
+
+    private static void swapRows(double[][] a, int i, double[][] b, int j) {
+        double[] row = a[i];
+        a[i] = b[j];
+        b[j] = row;
+    }
+
     private void shuffleArray(int[] array, Random random) {
         for (int i = array.length - 1; i > 0; i--) {
             int j = random.nextInt(i + 1);
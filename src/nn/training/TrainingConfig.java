@@ -1,19 +1,59 @@
 package nn.training;
 
+import nn.optimizer.Optimizer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 public class TrainingConfig {
 
     private double learningRate;
     private int epochs;
+    private int batchSize;
     private boolean shuffle;
+    private int shuffleBufferSize;
     private boolean verbose;
     private int printEvery;
+    private int threads;
+    private ParallelMode parallelMode;
+    private Long seed;
+    private Optimizer optimizer;
+    private int patience;
+    private double minDelta;
+    private boolean restoreBestWeights;
+    private Double targetLoss;
+    private Duration timeBudget;
+    private LearningRateSchedule schedule;
+    private Double convergenceLoss;
+    private Path checkpointPath;
+    private int checkpointEvery;
+    private Duration checkpointInterval;
+    private final List<TrainingListener> listeners;
 
     public TrainingConfig() {
         this.learningRate = 0.01;
         this.epochs = 1000;
+        this.batchSize = 1;
         this.shuffle = true;
+        this.shuffleBufferSize = 1 << 16;
         this.verbose = true;
         this.printEvery = 100;
+        this.threads = 1;
+        this.parallelMode = ParallelMode.SYNCHRONOUS;
+        this.seed = null;
+        this.optimizer = null;
+        this.patience = 0;
+        this.minDelta = 0.0;
+        this.restoreBestWeights = false;
+        this.targetLoss = null;
+        this.timeBudget = null;
+        this.schedule = null;
+        this.convergenceLoss = null;
+        this.checkpointPath = null;
+        this.checkpointEvery = 0;
+        this.checkpointInterval = null;
+        this.listeners = new ArrayList<>();
     }
 
     public TrainingConfig setLearningRate(double learningRate) {
@@ -26,11 +66,21 @@ public class TrainingConfig {
         return this;
     }
 
+    public TrainingConfig setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
     public TrainingConfig setShuffle(boolean shuffle) {
         this.shuffle = shuffle;
         return this;
     }
 
+    public TrainingConfig setShuffleBufferSize(int shuffleBufferSize) {
+        this.shuffleBufferSize = shuffleBufferSize;
+        return this;
+    }
+
     public TrainingConfig setVerbose(boolean verbose) {
         this.verbose = verbose;
         return this;
@@ -41,6 +91,84 @@ public class TrainingConfig {
         return this;
     }
 
+    public TrainingConfig setThreads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    public TrainingConfig setParallelMode(ParallelMode parallelMode) {
+        this.parallelMode = parallelMode;
+        return this;
+    }
+
+    public TrainingConfig setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public TrainingConfig setOptimizer(Optimizer optimizer) {
+        this.optimizer = optimizer;
+        return this;
+    }
+
+    public TrainingConfig setPatience(int patience) {
+        this.patience = patience;
+        return this;
+    }
+
+    public TrainingConfig setMinDelta(double minDelta) {
+        this.minDelta = minDelta;
+        return this;
+    }
+
+    public TrainingConfig setRestoreBestWeights(boolean restoreBestWeights) {
+        this.restoreBestWeights = restoreBestWeights;
+        return this;
+    }
+
+    public TrainingConfig setTargetLoss(double targetLoss) {
+        this.targetLoss = targetLoss;
+        return this;
+    }
+
+    public TrainingConfig setTimeBudget(Duration timeBudget) {
+        this.timeBudget = timeBudget;
+        return this;
+    }
+
+    public TrainingConfig setSchedule(LearningRateSchedule schedule) {
+        this.schedule = schedule;
+        return this;
+    }
+
+    public TrainingConfig setConvergenceLoss(double convergenceLoss) {
+        this.convergenceLoss = convergenceLoss;
+        return this;
+    }
+
+    public TrainingConfig setCheckpointPath(Path checkpointPath) {
+        this.checkpointPath = checkpointPath;
+        return this;
+    }
+
+    public TrainingConfig setCheckpointEvery(int checkpointEvery) {
+        this.checkpointEvery = checkpointEvery;
+        return this;
+    }
+
+    public TrainingConfig setCheckpointInterval(Duration checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+        return this;
+    }
+
+    public TrainingConfig addListener(TrainingListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+        return this;
+    }
+
     public double getLearningRate() {
         return learningRate;
     }
@@ -49,10 +177,18 @@ public class TrainingConfig {
         return epochs;
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
     public boolean isShuffle() {
         return shuffle;
     }
 
+    public int getShuffleBufferSize() {
+        return shuffleBufferSize;
+    }
+
     public boolean isVerbose() {
         return verbose;
     }
@@ -60,4 +196,64 @@ public class TrainingConfig {
     public int getPrintEvery() {
         return printEvery;
     }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public ParallelMode getParallelMode() {
+        return parallelMode;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public Optimizer getOptimizer() {
+        return optimizer;
+    }
+
+    public int getPatience() {
+        return patience;
+    }
+
+    public double getMinDelta() {
+        return minDelta;
+    }
+
+    public boolean isRestoreBestWeights() {
+        return restoreBestWeights;
+    }
+
+    public Double getTargetLoss() {
+        return targetLoss;
+    }
+
+    public Duration getTimeBudget() {
+        return timeBudget;
+    }
+
+    public LearningRateSchedule getSchedule() {
+        return schedule;
+    }
+
+    public Double getConvergenceLoss() {
+        return convergenceLoss;
+    }
+
+    public Path getCheckpointPath() {
+        return checkpointPath;
+    }
+
+    public int getCheckpointEvery() {
+        return checkpointEvery;
+    }
+
+    public Duration getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public List<TrainingListener> getListeners() {
+        return List.copyOf(listeners);
+    }
 }
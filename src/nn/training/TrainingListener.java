@@ -0,0 +1,6 @@
+package nn.training;
+
+public interface TrainingListener {
+
+    void onEpochEnd(EpochMetrics metrics);
+}
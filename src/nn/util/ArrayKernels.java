@@ -0,0 +1,62 @@
+package nn.util;
+
+public interface ArrayKernels {
+
+    static ArrayKernels get() {
+        return KernelSelector.INSTANCE;
+    }
+
+    String name();
+
+    void add(double[] a, int aOffset, double[] b, int bOffset, double[] result, int resultOffset, int length);
+
+    void subtract(double[] a, int aOffset, double[] b, int bOffset, double[] result, int resultOffset, int length);
+
+    void multiply(double[] a, int aOffset, double[] b, int bOffset, double[] result, int resultOffset, int length);
+
+    void scale(double[] a, int aOffset, double scalar, double[] result, int resultOffset, int length);
+
+    void addScaled(double[] target, int targetOffset, double[] source, int sourceOffset, double scale, int length);
+
+    void addScaledRows4(double x0, double x1, double x2, double x3, double[] source,
+            double[] target0, double[] target1, double[] target2, double[] target3, int length);
+
+    void relu(double[] input, int inputOffset, double[] result, int resultOffset, int length);
+
+    void reluDerivative(double[] input, int inputOffset, double[] result, int resultOffset, int length);
+
+    default void sigmoid(double[] input, int inputOffset, double[] result, int resultOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            result[resultOffset + i] = 1.0 / (1.0 + Math.exp(-input[inputOffset + i]));
+        }
+    }
+
+    default void sigmoidDerivative(double[] input, int inputOffset, double[] result, int resultOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            double sigmoid = 1.0 / (1.0 + Math.exp(-input[inputOffset + i]));
+            result[resultOffset + i] = sigmoid * (1 - sigmoid);
+        }
+    }
+
+    default void tanh(double[] input, int inputOffset, double[] result, int resultOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            result[resultOffset + i] = Math.tanh(input[inputOffset + i]);
+        }
+    }
+
+    default void tanhDerivative(double[] input, int inputOffset, double[] result, int resultOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            double tanh = Math.tanh(input[inputOffset + i]);
+            result[resultOffset + i] = 1 - tanh * tanh;
+        }
+    }
+
+    void reluGradient(double[] output, int outputOffset, double[] gradient, int gradientOffset,
+            double[] result, int resultOffset, int length);
+
+    void sigmoidGradient(double[] output, int outputOffset, double[] gradient, int gradientOffset,
+            double[] result, int resultOffset, int length);
+
+    void tanhGradient(double[] output, int outputOffset, double[] gradient, int gradientOffset,
+            double[] result, int resultOffset, int length);
+}
@@ -0,0 +1,38 @@
+package nn.util;
+
+final class KernelSelector {
+
+    static final String PROPERTY = "nn.kernels";
+
+    static final ArrayKernels INSTANCE = select(System.getProperty(PROPERTY, "auto"));
+
+    private KernelSelector() {
+    }
+
+    private static ArrayKernels select(String requested) {
+        switch (requested) {
+            case "scalar":
+                return new ScalarKernels();
+            case "vector":
+            case "auto":
+                ArrayKernels vector = loadVectorKernels();
+                return vector != null ? vector : new ScalarKernels();
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown " + PROPERTY + " value '" + requested + "', expected auto, vector or scalar");
+        }
+    }
+
+    private static ArrayKernels loadVectorKernels() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (ArrayKernels) Class.forName("nn.util.VectorKernels")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -1,13 +1,35 @@
 package nn.util;
 
+import java.util.Arrays;
+
 public class MatrixUtils {
 
+    private static final int BLOCK_N = 256;
+    private static final int BLOCK_K = 128;
+    private static final long PACKED_THRESHOLD = 16 * 16 * 16;
+
+    private static final ArrayKernels KERNELS = ArrayKernels.get();
+
+    private static final ThreadLocal<PackingBuffers> PACKING_BUFFERS =
+            ThreadLocal.withInitial(PackingBuffers::new);
+
     public static double[][] multiply(double[][] a, double[][] b) {
         validateNotNull(a, "First matrix");
         validateNotNull(b, "Second matrix");
         validateNotEmpty(a, "First matrix");
         validateNotEmpty(b, "Second matrix");
 
+        double[][] result = new double[a.length][b[0].length];
+        multiplyInto(a, b, result);
+        return result;
+    }
+
+    public static void multiplyInto(double[][] a, double[][] b, double[][] result) {
+        validateNotNull(a, "First matrix");
+        validateNotNull(b, "Second matrix");
+        validateNotEmpty(a, "First matrix");
+        validateNotEmpty(b, "Second matrix");
+
         int aRows = a.length;
         int aCols = a[0].length;
         int bRows = b.length;
@@ -18,119 +40,209 @@ public class MatrixUtils {
                     "Cannot multiply matrices: A columns (" + aCols +
                             ") != B rows (" + bRows + ")");
         }
+        validateResultShape(result, aRows, bCols);
+        if (result == a || result == b) {
+            throw new IllegalArgumentException("Result matrix cannot alias an operand");
+        }
+
+        for (int i = 0; i < aRows; i++) {
+            double[] resultRow = result[i];
+            for (int j = 0; j < bCols; j++) {
+                resultRow[j] = 0.0;
+            }
+        }
+
+        for (int kk = 0; kk < aCols; kk += BLOCK_K) {
+            int kEnd = Math.min(kk + BLOCK_K, aCols);
+            for (int jj = 0; jj < bCols; jj += BLOCK_N) {
+                int jEnd = Math.min(jj + BLOCK_N, bCols);
+                for (int i = 0; i < aRows; i++) {
+                    double[] aRow = a[i];
+                    double[] resultRow = result[i];
+                    for (int k = kk; k < kEnd; k++) {
+                        KERNELS.addScaled(resultRow, jj, b[k], jj, aRow[k], jEnd - jj);
+                    }
+                }
+            }
+        }
+    }
 
-        double[][] result = new double[aRows][bCols];
+    public static double[][] multiplyTransposed(double[][] a, double[][] bTransposed) {
+        validateNotNull(a, "First matrix");
+        validateNotNull(bTransposed, "Second matrix");
+        validateNotEmpty(a, "First matrix");
+        validateNotEmpty(bTransposed, "Second matrix");
+
+        double[][] result = new double[a.length][bTransposed.length];
+        multiplyTransposedInto(a, bTransposed, result);
+        return result;
+    }
+
+    public static void multiplyTransposedInto(double[][] a, double[][] bTransposed, double[][] result) {
+        validateNotNull(a, "First matrix");
+        validateNotNull(bTransposed, "Second matrix");
+        validateNotEmpty(a, "First matrix");
+        validateNotEmpty(bTransposed, "Second matrix");
+
+        int aRows = a.length;
+        int aCols = a[0].length;
+        int bCols = bTransposed.length;
+
+        if (aCols != bTransposed[0].length) {
+            throw new IllegalArgumentException(
+                    "Cannot multiply matrices: A columns (" + aCols +
+                            ") != B rows (" + bTransposed[0].length + ")");
+        }
+        validateResultShape(result, aRows, bCols);
+        if (result == a || result == bTransposed) {
+            throw new IllegalArgumentException("Result matrix cannot alias an operand");
+        }
 
         for (int i = 0; i < aRows; i++) {
+            double[] aRow = a[i];
+            double[] resultRow = result[i];
             for (int j = 0; j < bCols; j++) {
+                double[] bRow = bTransposed[j];
                 double sum = 0.0;
                 for (int k = 0; k < aCols; k++) {
-                    sum += a[i][k] * b[k][j];
+                    sum += aRow[k] * bRow[k];
                 }
-                result[i][j] = sum;
+                resultRow[j] = sum;
             }
         }
+    }
 
+    public static double[][] add(double[][] a, double[][] b) {
+        validateSameShape(a, b, "add");
+
+        double[][] result = new double[a.length][a[0].length];
+        addInto(a, b, result);
         return result;
     }
 
-    public static double[][] add(double[][] a, double[][] b) {
+    public static void addInto(double[][] a, double[][] b, double[][] result) {
         validateSameShape(a, b, "add");
 
         int rows = a.length;
         int cols = a[0].length;
-        double[][] result = new double[rows][cols];
+        validateResultShape(result, rows, cols);
 
         for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                result[i][j] = a[i][j] + b[i][j];
-            }
+            KERNELS.add(a[i], 0, b[i], 0, result[i], 0, cols);
         }
+    }
 
+    public static double[][] subtract(double[][] a, double[][] b) {
+        validateSameShape(a, b, "subtract");
+
+        double[][] result = new double[a.length][a[0].length];
+        subtractInto(a, b, result);
         return result;
     }
 
-    public static double[][] subtract(double[][] a, double[][] b) {
+    public static void subtractInto(double[][] a, double[][] b, double[][] result) {
         validateSameShape(a, b, "subtract");
 
         int rows = a.length;
         int cols = a[0].length;
-        double[][] result = new double[rows][cols];
+        validateResultShape(result, rows, cols);
 
         for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                result[i][j] = a[i][j] - b[i][j];
-            }
+            KERNELS.subtract(a[i], 0, b[i], 0, result[i], 0, cols);
         }
+    }
+
+    public static double[][] multiplyElementWise(double[][] a, double[][] b) {
+        validateSameShape(a, b, "multiply element-wise");
 
+        double[][] result = new double[a.length][a[0].length];
+        multiplyElementWiseInto(a, b, result);
         return result;
     }
 
-    public static double[][] multiplyElementWise(double[][] a, double[][] b) {
+    public static void multiplyElementWiseInto(double[][] a, double[][] b, double[][] result) {
         validateSameShape(a, b, "multiply element-wise");
 
         int rows = a.length;
         int cols = a[0].length;
-        double[][] result = new double[rows][cols];
+        validateResultShape(result, rows, cols);
 
         for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                result[i][j] = a[i][j] * b[i][j];
-            }
+            KERNELS.multiply(a[i], 0, b[i], 0, result[i], 0, cols);
         }
+    }
 
+    public static double[][] scale(double[][] matrix, double scalar) {
+        validateNotNull(matrix, "Matrix");
+        validateNotEmpty(matrix, "Matrix");
+
+        double[][] result = new double[matrix.length][matrix[0].length];
+        scaleInto(matrix, scalar, result);
         return result;
     }
 
-    public static double[][] scale(double[][] matrix, double scalar) {
+    public static void scaleInto(double[][] matrix, double scalar, double[][] result) {
         validateNotNull(matrix, "Matrix");
         validateNotEmpty(matrix, "Matrix");
 
         int rows = matrix.length;
         int cols = matrix[0].length;
-        double[][] result = new double[rows][cols];
+        validateResultShape(result, rows, cols);
 
         for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                result[i][j] = matrix[i][j] * scalar;
-            }
+            KERNELS.scale(matrix[i], 0, scalar, result[i], 0, cols);
         }
+    }
+
+    public static double[][] addScalar(double[][] matrix, double scalar) {
+        validateNotNull(matrix, "Matrix");
+        validateNotEmpty(matrix, "Matrix");
 
+        double[][] result = new double[matrix.length][matrix[0].length];
+        addScalarInto(matrix, scalar, result);
         return result;
     }
 
-    public static double[][] addScalar(double[][] matrix, double scalar) {
+    public static void addScalarInto(double[][] matrix, double scalar, double[][] result) {
         validateNotNull(matrix, "Matrix");
         validateNotEmpty(matrix, "Matrix");
 
         int rows = matrix.length;
         int cols = matrix[0].length;
-        double[][] result = new double[rows][cols];
+        validateResultShape(result, rows, cols);
 
         for (int i = 0; i < rows; i++) {
             for (int j = 0; j < cols; j++) {
                 result[i][j] = matrix[i][j] + scalar;
             }
         }
+    }
 
+    public static double[][] transpose(double[][] matrix) {
+        validateNotNull(matrix, "Matrix");
+        validateNotEmpty(matrix, "Matrix");
+
+        double[][] result = new double[matrix[0].length][matrix.length];
+        transposeInto(matrix, result);
         return result;
     }
 
-    public static double[][] transpose(double[][] matrix) {
+    public static void transposeInto(double[][] matrix, double[][] result) {
         validateNotNull(matrix, "Matrix");
         validateNotEmpty(matrix, "Matrix");
 
         int rows = matrix.length;
         int cols = matrix[0].length;
-        double[][] result = new double[cols][rows];
+        validateResultShape(result, cols, rows);
+        if (result == matrix) {
+            throw new IllegalArgumentException("Cannot transpose a matrix into itself");
+        }
 
         for (int i = 0; i < rows; i++) {
             for (int j = 0; j < cols; j++) {
                 result[j][i] = matrix[i][j];
             }
         }
-
-        return result;
     }
 
     public static double[][] toRowMatrix(double[] vector) {
@@ -211,6 +323,183 @@ public class MatrixUtils {
         return new int[] { matrix.length, matrix[0].length };
     }
 
+    public static double[] toFlat(double[][] matrix) {
+        validateNotNull(matrix, "Matrix");
+        validateNotEmpty(matrix, "Matrix");
+
+        int rows = matrix.length;
+        int cols = matrix[0].length;
+        double[] result = new double[rows * cols];
+
+        for (int i = 0; i < rows; i++) {
+            if (matrix[i].length != cols) {
+                throw new IllegalArgumentException(
+                        "Row " + i + " has " + matrix[i].length + " columns, expected " + cols);
+            }
+            System.arraycopy(matrix[i], 0, result, i * cols, cols);
+        }
+
+        return result;
+    }
+
+    public static double[][] fromFlat(double[] data, int rows, int cols) {
+        validateFlat(data, 0, cols, rows, cols, "Data");
+
+        double[][] result = new double[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(data, i * cols, result[i], 0, cols);
+        }
+        return result;
+    }
+
+    public static void multiplyInto(double[] a, int aOffset, int aStride,
+            double[] b, int bOffset, int bStride,
+            double[] c, int cOffset, int cStride,
+            int m, int k, int n) {
+        validateFlat(a, aOffset, aStride, m, k, "First matrix");
+        validateFlat(b, bOffset, bStride, k, n, "Second matrix");
+        validateFlat(c, cOffset, cStride, m, n, "Result matrix");
+        validateNoOverlap(c, cOffset, cStride, m, n, a, aOffset, aStride, m, k);
+        validateNoOverlap(c, cOffset, cStride, m, n, b, bOffset, bStride, k, n);
+
+        gemm(a, aOffset, aStride, 1, b, bOffset, bStride, 1, c, cOffset, cStride, m, k, n);
+    }
+
+    public static void multiplyTransposedAInto(double[] a, int aOffset, int aStride,
+            double[] b, int bOffset, int bStride,
+            double[] c, int cOffset, int cStride,
+            int m, int k, int n) {
+        validateFlat(a, aOffset, aStride, k, m, "First matrix");
+        validateFlat(b, bOffset, bStride, k, n, "Second matrix");
+        validateFlat(c, cOffset, cStride, m, n, "Result matrix");
+        validateNoOverlap(c, cOffset, cStride, m, n, a, aOffset, aStride, k, m);
+        validateNoOverlap(c, cOffset, cStride, m, n, b, bOffset, bStride, k, n);
+
+        gemm(a, aOffset, 1, aStride, b, bOffset, bStride, 1, c, cOffset, cStride, m, k, n);
+    }
+
+    public static void multiplyTransposedBInto(double[] a, int aOffset, int aStride,
+            double[] b, int bOffset, int bStride,
+            double[] c, int cOffset, int cStride,
+            int m, int k, int n) {
+        validateFlat(a, aOffset, aStride, m, k, "First matrix");
+        validateFlat(b, bOffset, bStride, n, k, "Second matrix");
+        validateFlat(c, cOffset, cStride, m, n, "Result matrix");
+        validateNoOverlap(c, cOffset, cStride, m, n, a, aOffset, aStride, m, k);
+        validateNoOverlap(c, cOffset, cStride, m, n, b, bOffset, bStride, n, k);
+
+        gemm(a, aOffset, aStride, 1, b, bOffset, 1, bStride, c, cOffset, cStride, m, k, n);
+    }
+
+    public static void multiplyInto(float[] a, int aOffset, int aStride,
+            float[] b, int bOffset, int bStride,
+            double[] c, int cOffset, int cStride,
+            int m, int k, int n) {
+        validateFlat(a, aOffset, aStride, m, k, "First matrix");
+        validateFlat(b, bOffset, bStride, k, n, "Second matrix");
+        validateFlat(c, cOffset, cStride, m, n, "Result matrix");
+
+        for (int i = 0; i < m; i++) {
+            int cRow = cOffset + i * cStride;
+            int aRow = aOffset + i * aStride;
+            for (int j = 0; j < n; j++) {
+                c[cRow + j] = 0.0;
+            }
+            for (int p = 0; p < k; p++) {
+                double aip = a[aRow + p];
+                int bRow = bOffset + p * bStride;
+                for (int j = 0; j < n; j++) {
+                    c[cRow + j] += aip * b[bRow + j];
+                }
+            }
+        }
+    }
+
+    public static float[] toFloat(double[] values) {
+        if (values == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+
+        float[] result = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (float) values[i];
+        }
+        return result;
+    }
+
+    public static double[] toDouble(float[] values) {
+        if (values == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+
+        double[] result = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i];
+        }
+        return result;
+    }
+
+    public static void addRowVector(double[] target, int offset, int stride, int rows, int cols,
+            double[] vector, int vectorOffset) {
+        validateFlat(target, offset, stride, rows, cols, "Target matrix");
+        validateFlat(vector, vectorOffset, cols, 1, cols, "Vector");
+
+        for (int i = 0; i < rows; i++) {
+            int row = offset + i * stride;
+            for (int j = 0; j < cols; j++) {
+                target[row + j] += vector[vectorOffset + j];
+            }
+        }
+    }
+
+    public static void sumRowsInto(double[] matrix, int offset, int stride, int rows, int cols,
+            double[] result, int resultOffset) {
+        validateFlat(matrix, offset, stride, rows, cols, "Matrix");
+        validateFlat(result, resultOffset, cols, 1, cols, "Result vector");
+
+        for (int j = 0; j < cols; j++) {
+            result[resultOffset + j] = 0.0;
+        }
+        for (int i = 0; i < rows; i++) {
+            int row = offset + i * stride;
+            for (int j = 0; j < cols; j++) {
+                result[resultOffset + j] += matrix[row + j];
+            }
+        }
+    }
+
+    public static void addOuterProduct(double[] target, int offset, int stride,
+            double[] x, int xOffset, double[] y, int yOffset,
+            int m, int n, double scale) {
+        validateFlat(target, offset, stride, m, n, "Target matrix");
+        validateFlat(x, xOffset, m, 1, m, "First vector");
+        validateFlat(y, yOffset, n, 1, n, "Second vector");
+
+        for (int i = 0; i < m; i++) {
+            KERNELS.addScaled(target, offset + i * stride, y, yOffset, x[xOffset + i] * scale, n);
+        }
+    }
+
+    public static void addScaledInPlace(double[] target, double[] source, double scale) {
+        validateSameLength(target, source, "add scaled");
+
+        KERNELS.addScaled(target, 0, source, 0, scale, target.length);
+    }
+
+    public static void subtractInPlace(double[] target, double[] source) {
+        validateSameLength(target, source, "subtract");
+
+        KERNELS.subtract(target, 0, source, 0, target, 0, target.length);
+    }
+
+    public static void scaleInPlace(double[] target, double scalar) {
+        if (target == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+
+        KERNELS.scale(target, 0, scalar, target, 0, target.length);
+    }
+
     public static String toString(double[][] matrix) {
         if (matrix == null)
             return "null";
@@ -233,6 +522,124 @@ public class MatrixUtils {
         return sb.toString();
     }
 
+    private static void gemm(double[] a, int aOffset, int aRowStep, int aColStep,
+            double[] b, int bOffset, int bRowStep, int bColStep,
+            double[] c, int cOffset, int cStride,
+            int m, int k, int n) {
+        if (m < 4 || (long) m * k * n < PACKED_THRESHOLD) {
+            gemmDirect(a, aOffset, aRowStep, aColStep, b, bOffset, bRowStep, bColStep,
+                    c, cOffset, cStride, m, k, n);
+            return;
+        }
+
+        PackingBuffers buffers = PACKING_BUFFERS.get();
+        double[][] panel = buffers.panel;
+        double[] acc0 = buffers.rows[0];
+        double[] acc1 = buffers.rows[1];
+        double[] acc2 = buffers.rows[2];
+        double[] acc3 = buffers.rows[3];
+
+        for (int kk = 0; kk < k; kk += BLOCK_K) {
+            int kEnd = Math.min(kk + BLOCK_K, k);
+            boolean first = kk == 0;
+
+            for (int jj = 0; jj < n; jj += BLOCK_N) {
+                int len = Math.min(BLOCK_N, n - jj);
+                packPanel(b, bOffset, bRowStep, bColStep, kk, kEnd, jj, len, panel);
+
+                int i = 0;
+                for (; i + 3 < m; i += 4) {
+                    int c0 = cOffset + i * cStride + jj;
+                    int c1 = c0 + cStride;
+                    int c2 = c1 + cStride;
+                    int c3 = c2 + cStride;
+                    loadRow(c, c0, acc0, len, first);
+                    loadRow(c, c1, acc1, len, first);
+                    loadRow(c, c2, acc2, len, first);
+                    loadRow(c, c3, acc3, len, first);
+
+                    int a0 = aOffset + i * aRowStep;
+                    int a1 = a0 + aRowStep;
+                    int a2 = a1 + aRowStep;
+                    int a3 = a2 + aRowStep;
+                    for (int p = kk; p < kEnd; p++) {
+                        int ap = p * aColStep;
+                        double x0 = a[a0 + ap];
+                        double x1 = a[a1 + ap];
+                        double x2 = a[a2 + ap];
+                        double x3 = a[a3 + ap];
+                        KERNELS.addScaledRows4(x0, x1, x2, x3, panel[p - kk], acc0, acc1, acc2, acc3, len);
+                    }
+
+                    System.arraycopy(acc0, 0, c, c0, len);
+                    System.arraycopy(acc1, 0, c, c1, len);
+                    System.arraycopy(acc2, 0, c, c2, len);
+                    System.arraycopy(acc3, 0, c, c3, len);
+                }
+
+                for (; i < m; i++) {
+                    int cRow = cOffset + i * cStride + jj;
+                    loadRow(c, cRow, acc0, len, first);
+
+                    int aRow = aOffset + i * aRowStep;
+                    for (int p = kk; p < kEnd; p++) {
+                        KERNELS.addScaled(acc0, 0, panel[p - kk], 0, a[aRow + p * aColStep], len);
+                    }
+
+                    System.arraycopy(acc0, 0, c, cRow, len);
+                }
+            }
+        }
+    }
+
+    private static void gemmDirect(double[] a, int aOffset, int aRowStep, int aColStep,
+            double[] b, int bOffset, int bRowStep, int bColStep,
+            double[] c, int cOffset, int cStride,
+            int m, int k, int n) {
+        for (int i = 0; i < m; i++) {
+            int cRow = cOffset + i * cStride;
+            int aRow = aOffset + i * aRowStep;
+            for (int j = 0; j < n; j++) {
+                c[cRow + j] = 0.0;
+            }
+            for (int p = 0; p < k; p++) {
+                double aip = a[aRow + p * aColStep];
+                int bRow = bOffset + p * bRowStep;
+                for (int j = 0; j < n; j++) {
+                    c[cRow + j] += aip * b[bRow + j * bColStep];
+                }
+            }
+        }
+    }
+
+    private static void packPanel(double[] b, int bOffset, int bRowStep, int bColStep,
+            int kStart, int kEnd, int jStart, int len, double[][] panel) {
+        for (int p = kStart; p < kEnd; p++) {
+            double[] row = panel[p - kStart];
+            int bRow = bOffset + p * bRowStep + jStart * bColStep;
+            if (bColStep == 1) {
+                System.arraycopy(b, bRow, row, 0, len);
+            } else {
+                for (int j = 0; j < len; j++) {
+                    row[j] = b[bRow + j * bColStep];
+                }
+            }
+        }
+    }
+
+    private static void loadRow(double[] c, int offset, double[] acc, int len, boolean zero) {
+        if (zero) {
+            Arrays.fill(acc, 0, len, 0.0);
+        } else {
+            System.arraycopy(c, offset, acc, 0, len);
+        }
+    }
+
+    private static final class PackingBuffers {
+        final double[][] panel = new double[BLOCK_K][BLOCK_N];
+        final double[][] rows = new double[4][BLOCK_N];
+    }
+
     private static void validateNotNull(double[][] matrix, String name) {
         if (matrix == null) {
             throw new IllegalArgumentException(name + " cannot be null");
@@ -245,6 +652,73 @@ public class MatrixUtils {
         }
     }
 
+    private static void validateFlat(double[] data, int offset, int stride, int rows, int cols, String name) {
+        if (data == null) {
+            throw new IllegalArgumentException(name + " cannot be null");
+        }
+        validateLayout(data.length, offset, stride, rows, cols, name);
+    }
+
+    private static void validateLayout(int length, int offset, int stride, int rows, int cols, String name) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException(
+                    name + " dimensions must be positive: [" + rows + " × " + cols + "]");
+        }
+        if (offset < 0 || stride < cols) {
+            throw new IllegalArgumentException(
+                    name + " has invalid layout: offset " + offset + ", stride " + stride +
+                            " for " + cols + " columns");
+        }
+        long end = (long) offset + (long) (rows - 1) * stride + cols;
+        if (end > length) {
+            throw new IllegalArgumentException(
+                    name + " [" + rows + " × " + cols + "] with stride " + stride +
+                            " does not fit in array of length " + length);
+        }
+    }
+
+    private static void validateNoOverlap(double[] c, int cOffset, int cStride, int cRows, int cCols,
+            double[] operand, int offset, int stride, int rows, int cols) {
+        if (c != operand) {
+            return;
+        }
+        long cEnd = (long) cOffset + (long) (cRows - 1) * cStride + cCols;
+        long end = (long) offset + (long) (rows - 1) * stride + cols;
+        if (cOffset < end && offset < cEnd) {
+            throw new IllegalArgumentException("Result matrix cannot alias an operand");
+        }
+    }
+
+    private static void validateFlat(float[] data, int offset, int stride, int rows, int cols, String name) {
+        if (data == null) {
+            throw new IllegalArgumentException(name + " cannot be null");
+        }
+        validateLayout(data.length, offset, stride, rows, cols, name);
+    }
+
+    private static void validateSameLength(double[] a, double[] b, String operation) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Arrays cannot be null");
+        }
+        if (a.length != b.length) {
+            throw new IllegalArgumentException(
+                    "Cannot " + operation + " arrays with different lengths: " +
+                            a.length + " vs " + b.length);
+        }
+    }
+
+    private static void validateResultShape(double[][] result, int rows, int cols) {
+        if (result == null) {
+            throw new IllegalArgumentException("Result matrix cannot be null");
+        }
+        if (result.length != rows || (rows > 0 && result[0].length != cols)) {
+            throw new IllegalArgumentException(
+                    "Result matrix has shape [" + result.length + " × " +
+                            (result.length > 0 ? result[0].length : 0) + "], expected [" +
+                            rows + " × " + cols + "]");
+        }
+    }
+
     private static void validateSameShape(double[][] a, double[][] b, String operation) {
         validateNotNull(a, "First matrix");
         validateNotNull(b, "Second matrix");
@@ -0,0 +1,99 @@
+package nn.util;
+
+final class ScalarKernels implements ArrayKernels {
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void add(double[] a, int aOffset, double[] b, int bOffset, double[] result, int resultOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            result[resultOffset + i] = a[aOffset + i] + b[bOffset + i];
+        }
+    }
+
+    @Override
+    public void subtract(double[] a, int aOffset, double[] b, int bOffset, double[] result, int resultOffset,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            result[resultOffset + i] = a[aOffset + i] - b[bOffset + i];
+        }
+    }
+
+    @Override
+    public void multiply(double[] a, int aOffset, double[] b, int bOffset, double[] result, int resultOffset,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            result[resultOffset + i] = a[aOffset + i] * b[bOffset + i];
+        }
+    }
+
+    @Override
+    public void scale(double[] a, int aOffset, double scalar, double[] result, int resultOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            result[resultOffset + i] = a[aOffset + i] * scalar;
+        }
+    }
+
+    @Override
+    public void addScaled(double[] target, int targetOffset, double[] source, int sourceOffset, double scale,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            target[targetOffset + i] += source[sourceOffset + i] * scale;
+        }
+    }
+
+    @Override
+    public void addScaledRows4(double x0, double x1, double x2, double x3, double[] source,
+            double[] target0, double[] target1, double[] target2, double[] target3, int length) {
+        for (int j = 0; j < length; j++) {
+            double value = source[j];
+            target0[j] += x0 * value;
+            target1[j] += x1 * value;
+            target2[j] += x2 * value;
+            target3[j] += x3 * value;
+        }
+    }
+
+    @Override
+    public void relu(double[] input, int inputOffset, double[] result, int resultOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            result[resultOffset + i] = Math.max(0, input[inputOffset + i]);
+        }
+    }
+
+    @Override
+    public void reluDerivative(double[] input, int inputOffset, double[] result, int resultOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            result[resultOffset + i] = input[inputOffset + i] > 0 ? 1 : 0;
+        }
+    }
+
+    @Override
+    public void reluGradient(double[] output, int outputOffset, double[] gradient, int gradientOffset,
+            double[] result, int resultOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            result[resultOffset + i] = gradient[gradientOffset + i] * (output[outputOffset + i] > 0 ? 1 : 0);
+        }
+    }
+
+    @Override
+    public void sigmoidGradient(double[] output, int outputOffset, double[] gradient, int gradientOffset,
+            double[] result, int resultOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            double sigmoid = output[outputOffset + i];
+            result[resultOffset + i] = gradient[gradientOffset + i] * (sigmoid * (1 - sigmoid));
+        }
+    }
+
+    @Override
+    public void tanhGradient(double[] output, int outputOffset, double[] gradient, int gradientOffset,
+            double[] result, int resultOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            double tanh = output[outputOffset + i];
+            result[resultOffset + i] = gradient[gradientOffset + i] * (1 - tanh * tanh);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package nn.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+final class VectorKernels implements ArrayKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final DoubleVector ONE = DoubleVector.broadcast(SPECIES, 1.0);
+
+    private final ScalarKernels tail = new ScalarKernels();
+
+    @Override
+    public String name() {
+        return "vector(" + SPECIES.length() + "x double)";
+    }
+
+    @Override
+    public void add(double[] a, int aOffset, double[] b, int bOffset, double[] result, int resultOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, aOffset + i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bOffset + i);
+            va.add(vb).intoArray(result, resultOffset + i);
+        }
+        tail.add(a, aOffset + bound, b, bOffset + bound, result, resultOffset + bound, length - bound);
+    }
+
+    @Override
+    public void subtract(double[] a, int aOffset, double[] b, int bOffset, double[] result, int resultOffset,
+            int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, aOffset + i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bOffset + i);
+            va.sub(vb).intoArray(result, resultOffset + i);
+        }
+        tail.subtract(a, aOffset + bound, b, bOffset + bound, result, resultOffset + bound, length - bound);
+    }
+
+    @Override
+    public void multiply(double[] a, int aOffset, double[] b, int bOffset, double[] result, int resultOffset,
+            int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, aOffset + i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bOffset + i);
+            va.mul(vb).intoArray(result, resultOffset + i);
+        }
+        tail.multiply(a, aOffset + bound, b, bOffset + bound, result, resultOffset + bound, length - bound);
+    }
+
+    @Override
+    public void scale(double[] a, int aOffset, double scalar, double[] result, int resultOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, aOffset + i).mul(scalar).intoArray(result, resultOffset + i);
+        }
+        tail.scale(a, aOffset + bound, scalar, result, resultOffset + bound, length - bound);
+    }
+
+    @Override
+    public void addScaled(double[] target, int targetOffset, double[] source, int sourceOffset, double scale,
+            int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector vs = DoubleVector.fromArray(SPECIES, source, sourceOffset + i);
+            DoubleVector vt = DoubleVector.fromArray(SPECIES, target, targetOffset + i);
+            vt.add(vs.mul(scale)).intoArray(target, targetOffset + i);
+        }
+        tail.addScaled(target, targetOffset + bound, source, sourceOffset + bound, scale, length - bound);
+    }
+
+    @Override
+    public void addScaledRows4(double x0, double x1, double x2, double x3, double[] source,
+            double[] target0, double[] target1, double[] target2, double[] target3, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int j = 0; j < bound; j += SPECIES.length()) {
+            DoubleVector value = DoubleVector.fromArray(SPECIES, source, j);
+            DoubleVector.fromArray(SPECIES, target0, j).add(value.mul(x0)).intoArray(target0, j);
+            DoubleVector.fromArray(SPECIES, target1, j).add(value.mul(x1)).intoArray(target1, j);
+            DoubleVector.fromArray(SPECIES, target2, j).add(value.mul(x2)).intoArray(target2, j);
+            DoubleVector.fromArray(SPECIES, target3, j).add(value.mul(x3)).intoArray(target3, j);
+        }
+        for (int j = bound; j < length; j++) {
+            double value = source[j];
+            target0[j] += x0 * value;
+            target1[j] += x1 * value;
+            target2[j] += x2 * value;
+            target3[j] += x3 * value;
+        }
+    }
+
+    @Override
+    public void relu(double[] input, int inputOffset, double[] result, int resultOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, input, inputOffset + i).max(0.0).intoArray(result, resultOffset + i);
+        }
+        tail.relu(input, inputOffset + bound, result, resultOffset + bound, length - bound);
+    }
+
+    @Override
+    public void reluDerivative(double[] input, int inputOffset, double[] result, int resultOffset, int length) {
+        DoubleVector zeros = DoubleVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            VectorMask<Double> positive = DoubleVector.fromArray(SPECIES, input, inputOffset + i)
+                    .compare(VectorOperators.GT, 0.0);
+            zeros.blend(ONE, positive).intoArray(result, resultOffset + i);
+        }
+        tail.reluDerivative(input, inputOffset + bound, result, resultOffset + bound, length - bound);
+    }
+
+    @Override
+    public void reluGradient(double[] output, int outputOffset, double[] gradient, int gradientOffset,
+            double[] result, int resultOffset, int length) {
+        DoubleVector zeros = DoubleVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            VectorMask<Double> positive = DoubleVector.fromArray(SPECIES, output, outputOffset + i)
+                    .compare(VectorOperators.GT, 0.0);
+            DoubleVector.fromArray(SPECIES, gradient, gradientOffset + i)
+                    .mul(zeros.blend(ONE, positive))
+                    .intoArray(result, resultOffset + i);
+        }
+        tail.reluGradient(output, outputOffset + bound, gradient, gradientOffset + bound,
+                result, resultOffset + bound, length - bound);
+    }
+
+    @Override
+    public void sigmoidGradient(double[] output, int outputOffset, double[] gradient, int gradientOffset,
+            double[] result, int resultOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector sigmoid = DoubleVector.fromArray(SPECIES, output, outputOffset + i);
+            DoubleVector.fromArray(SPECIES, gradient, gradientOffset + i)
+                    .mul(sigmoid.mul(sigmoid.neg().add(1.0)))
+                    .intoArray(result, resultOffset + i);
+        }
+        tail.sigmoidGradient(output, outputOffset + bound, gradient, gradientOffset + bound,
+                result, resultOffset + bound, length - bound);
+    }
+
+    @Override
+    public void tanhGradient(double[] output, int outputOffset, double[] gradient, int gradientOffset,
+            double[] result, int resultOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector tanh = DoubleVector.fromArray(SPECIES, output, outputOffset + i);
+            DoubleVector.fromArray(SPECIES, gradient, gradientOffset + i)
+                    .mul(tanh.mul(tanh).neg().add(1.0))
+                    .intoArray(result, resultOffset + i);
+        }
+        tail.tanhGradient(output, outputOffset + bound, gradient, gradientOffset + bound,
+                result, resultOffset + bound, length - bound);
+    }
+}
@@ -1,9 +1,40 @@
 package test;
 
 import nn.activation.*;
+import nn.core.*;
 import nn.loss.*;
+import nn.optimizer.*;
+import nn.training.*;
 import nn.initialization.*;
+import nn.data.ArrayDataSource;
+import nn.data.BinaryDataset;
+import nn.data.ColumnStatistics;
+import nn.data.DataNormalizer;
 import nn.data.handlers.*;
+import nn.util.MatrixUtils;
+import casestudy.CsvDataSource;
+import casestudy.CsvParser;
+import casestudy.CsvTable;
+import casestudy.CsvToBinary;
+import casestudy.DatasetLoader;
+import casestudy.PredictionServer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 public class ComponentTest {
 
@@ -19,6 +50,23 @@ public class ComponentTest {
         testLossFunctions();
         testWeightInitializers();
         testMissingValueHandlers();
+        testMatrixUtils();
+        testBatchTraining();
+        testParallelTraining();
+        testFloatPrecision();
+        testOptimizers();
+        testEarlyStopping();
+        testLearningRateSchedules();
+        testCsvParsing();
+        testBinaryDataset();
+        testDataSources();
+        testNormalizer();
+        testModelFile();
+        testCheckpoints();
+        testTrainingListener();
+        testFlightRecorderEvents();
+        testPredictionServer();
+        testInferenceModel();
 
         System.out.println("\n===========================================");
         System.out.println("   Results: " + passed + " passed, " + failed + " failed");
@@ -52,6 +100,39 @@ public class ComponentTest {
         test("Linear negative", linear.activate(-3.0), -3.0);
         test("Linear derivative", linear.derivative(100.0), 1.0);
 
+        ActivationFunction[] functions = { relu, sigmoid, tanh, linear };
+        double[] input = new double[37];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = (i - 18) * 0.37;
+        }
+        for (ActivationFunction function : functions) {
+            double[] activated = function.activate(input);
+            double[] derivatives = function.derivative(input);
+            boolean matches = true;
+            for (int i = 0; i < input.length; i++) {
+                if (Math.abs(activated[i] - function.activate(input[i])) > 1e-12
+                        || Math.abs(derivatives[i] - function.derivative(input[i])) > 1e-12)
+                    matches = false;
+            }
+            test(function.getClass().getSimpleName() + " array overloads match scalar", matches, true);
+
+            double[] output = input.clone();
+            function.activateInPlace(output, 0, output.length);
+            double[] gradient = new double[input.length];
+            for (int i = 0; i < gradient.length; i++) {
+                gradient[i] = 1.0 - i * 0.05;
+            }
+            double[] delta = new double[input.length];
+            function.multiplyDerivative(input, output, gradient, delta, 0, input.length);
+            boolean fused = true;
+            for (int i = 0; i < input.length; i++) {
+                if (Math.abs(output[i] - function.activate(input[i])) > 1e-12
+                        || Math.abs(delta[i] - gradient[i] * function.derivative(input[i])) > 1e-12)
+                    fused = false;
+            }
+            test(function.getClass().getSimpleName() + " output-based derivative matches", fused, true);
+        }
+
         System.out.println();
     }
 
@@ -80,6 +161,25 @@ public class ComponentTest {
         test("CrossEntropy far wrong > near correct",
                 ce.compute(pred4, exp4) > ce.compute(pred3, exp3), true);
 
+        double[] predicted = { 0.2, 0.7, 0.4, 0.9, 0.05, 0.6 };
+        double[] target = { 0.0, 1.0, 1.0, 1.0, 0.0, 0.0 };
+        for (LossFunction loss : new LossFunction[] { mse, ce }) {
+            String name = loss.getClass().getSimpleName();
+            double[] fused = new double[predicted.length];
+            double value = loss.computeAndGradient(predicted, target, fused);
+            double[] separate = loss.gradient(predicted, target);
+            test(name + " fused loss", value, loss.compute(predicted, target));
+            test(name + " fused gradient", fused[4], separate[4]);
+
+            double[] batchGradient = new double[predicted.length];
+            double total = loss.computeAndGradientBatch(predicted, target, batchGradient, 2, 3, 0.5);
+            double[] firstRow = loss.gradient(new double[] { 0.2, 0.7, 0.4 }, new double[] { 0.0, 1.0, 1.0 });
+            test(name + " batched loss", total,
+                    loss.compute(new double[] { 0.2, 0.7, 0.4 }, new double[] { 0.0, 1.0, 1.0 })
+                            + loss.compute(new double[] { 0.9, 0.05, 0.6 }, new double[] { 1.0, 0.0, 0.0 }));
+            test(name + " batched gradient", batchGradient[1], firstRow[1] * 0.5);
+        }
+
         System.out.println();
     }
 
@@ -145,6 +245,1051 @@ public class ComponentTest {
         System.out.println();
     }
 
+    private static void testMatrixUtils() {
+        System.out.println("--- Matrix Utils ---");
+
+        Random random = new Random(11);
+        int m = 7;
+        int k = 300;
+        int n = 520;
+        int aStride = k + 3;
+        int bStride = n + 5;
+        int cStride = n + 2;
+        double[] a = randomValues(random, 2 + m * aStride);
+        double[] b = randomValues(random, 4 + k * bStride);
+        double[] c = new double[1 + m * cStride];
+        Arrays.fill(c, 7.0);
+        MatrixUtils.multiplyInto(a, 2, aStride, b, 4, bStride, c, 1, cStride, m, k, n);
+        test("Packed multiply matches naive product",
+                maxProductError(a, 2, aStride, 1, b, 4, bStride, 1, c, 1, cStride, m, k, n) < 1e-9, true);
+        test("Packed multiply keeps stride padding", c[0] == 7.0 && c[1 + n] == 7.0 && c[2 + n] == 7.0, true);
+
+        double[] aTransposed = randomValues(random, 3 + k * (m + 2));
+        MatrixUtils.multiplyTransposedAInto(aTransposed, 3, m + 2, b, 4, bStride, c, 1, cStride, m, k, n);
+        test("Packed transposed-A multiply matches naive product",
+                maxProductError(aTransposed, 3, 1, m + 2, b, 4, bStride, 1, c, 1, cStride, m, k, n) < 1e-9, true);
+
+        double[] bTransposed = randomValues(random, 1 + n * (k + 1));
+        MatrixUtils.multiplyTransposedBInto(a, 2, aStride, bTransposed, 1, k + 1, c, 1, cStride, m, k, n);
+        test("Packed transposed-B multiply matches naive product",
+                maxProductError(a, 2, aStride, 1, bTransposed, 1, 1, k + 1, c, 1, cStride, m, k, n) < 1e-9, true);
+
+        double[] shared = new double[48];
+        boolean rejected = false;
+        try {
+            MatrixUtils.multiplyInto(shared, 0, 4, shared, 16, 4, shared, 8, 4, 4, 4, 4);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        test("Flat multiply rejects overlapping result", rejected, true);
+        MatrixUtils.multiplyInto(shared, 0, 4, shared, 16, 4, shared, 32, 4, 4, 4, 4);
+        test("Flat multiply accepts disjoint regions", shared[32], 0.0);
+
+        System.out.println();
+    }
+
+    private static double[] randomValues(Random random, int length) {
+        double[] values = new double[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = random.nextDouble() * 2 - 1;
+        }
+        return values;
+    }
+
+    private static double maxProductError(double[] a, int aOffset, int aRowStep, int aColStep,
+            double[] b, int bOffset, int bRowStep, int bColStep,
+            double[] c, int cOffset, int cStride, int m, int k, int n) {
+        double error = 0;
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                double sum = 0;
+                for (int p = 0; p < k; p++) {
+                    sum += a[aOffset + i * aRowStep + p * aColStep] * b[bOffset + p * bRowStep + j * bColStep];
+                }
+                error = Math.max(error, Math.abs(c[cOffset + i * cStride + j] - sum));
+            }
+        }
+        return error;
+    }
+
+    private static void testBatchTraining() {
+        System.out.println("--- Batch Training ---");
+
+        double[][] inputs = { { 1.0, 2.0, 3.0 }, { 0.5, -1.0, 2.0 }, { 0.0, 0.0, 1.0 } };
+        double[][] expected = { { 1.0, 0.0 }, { 0.0, 1.0 }, { 0.5, 0.5 } };
+
+        Layer layer = new Layer(3, 2, new Tanh(), new HeInitializer(42));
+        double[][] batchOutput = layer.forwardBatch(inputs);
+        boolean matches = true;
+        for (int i = 0; i < inputs.length; i++) {
+            double[] single = layer.forward(inputs[i]);
+            for (int j = 0; j < single.length; j++) {
+                if (Math.abs(single[j] - batchOutput[i][j]) > 1e-12)
+                    matches = false;
+            }
+        }
+        test("forwardBatch matches forward", matches, true);
+
+        NeuralNetwork batched = new NeuralNetwork(new MeanSquaredError());
+        batched.addLayer(new Layer(3, 2, new Sigmoid(), new HeInitializer(7)));
+        NeuralNetwork single = new NeuralNetwork(new MeanSquaredError());
+        single.addLayer(new Layer(3, 2, new Sigmoid(), new HeInitializer(7)));
+
+        double batchLoss = batched.trainBatch(new double[][] { inputs[0] }, new double[][] { expected[0] }, 0.1);
+        double singleLoss = single.train(inputs[0], expected[0], 0.1);
+        test("trainBatch of one row loss", batchLoss, singleLoss);
+        test("trainBatch of one row weights",
+                batched.getLayer(0).getWeights()[0][0], single.getLayer(0).getWeights()[0][0]);
+
+        double first = batched.trainBatch(inputs, expected, 0.5);
+        double last = first;
+        for (int i = 0; i < 50; i++) {
+            last = batched.trainBatch(inputs, expected, 0.5);
+        }
+        test("trainBatch reduces loss", last < first, true);
+
+        System.out.println();
+    }
+
+    private static void testParallelTraining() {
+        System.out.println("--- Parallel Training ---");
+
+        double[][] inputs = new double[96][3];
+        double[][] expected = new double[inputs.length][1];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i][0] = i / 96.0;
+            inputs[i][1] = (i % 7) / 7.0;
+            inputs[i][2] = (i % 3) / 3.0;
+            expected[i][0] = inputs[i][0] * inputs[i][1] - inputs[i][2];
+        }
+
+        NeuralNetwork syncA = parallelNetwork();
+        double[] historyA = new Trainer(syncA, parallelConfig(4, ParallelMode.SYNCHRONOUS)).train(inputs, expected);
+        NeuralNetwork syncB = parallelNetwork();
+        double[] historyB = new Trainer(syncB, parallelConfig(4, ParallelMode.SYNCHRONOUS)).train(inputs, expected);
+        test("SYNCHRONOUS is reproducible", Arrays.equals(historyA, historyB)
+                && Arrays.deepEquals(syncA.snapshotWeights(), syncB.snapshotWeights()), true);
+
+        NeuralNetwork serial = parallelNetwork();
+        double[] serialHistory = new Trainer(serial, parallelConfig(1, ParallelMode.SYNCHRONOUS))
+                .train(inputs, expected);
+        double[][] serialWeights = serial.snapshotWeights();
+        double[][] syncWeights = syncA.snapshotWeights();
+        double maxDifference = Math.abs(serialHistory[serialHistory.length - 1] - historyA[historyA.length - 1]);
+        for (int l = 0; l < serialWeights.length; l++) {
+            for (int w = 0; w < serialWeights[l].length; w++) {
+                maxDifference = Math.max(maxDifference, Math.abs(serialWeights[l][w] - syncWeights[l][w]));
+            }
+        }
+        test("SYNCHRONOUS matches single thread", maxDifference < 1e-9, true);
+
+        double[] hogwild = new Trainer(parallelNetwork(), parallelConfig(4, ParallelMode.HOGWILD))
+                .train(inputs, expected);
+        test("HOGWILD reduces loss", hogwild[hogwild.length - 1] < hogwild[0], true);
+
+        boolean rejected = false;
+        try {
+            new Trainer(parallelNetwork(), parallelConfig(4, ParallelMode.SYNCHRONOUS).setBatchSize(2))
+                    .train(inputs, expected);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        test("SYNCHRONOUS rejects batches smaller than thread count", rejected, true);
+
+        System.out.println();
+    }
+
+    private static NeuralNetwork parallelNetwork() {
+        NeuralNetwork network = new NeuralNetwork(new MeanSquaredError());
+        network.addLayer(new Layer(3, 6, new Tanh(), new HeInitializer(61)));
+        network.addLayer(new Layer(6, 1, new Linear(), new HeInitializer(62)));
+        return network;
+    }
+
+    private static TrainingConfig parallelConfig(int threads, ParallelMode mode) {
+        return new TrainingConfig()
+                .setEpochs(8)
+                .setBatchSize(16)
+                .setLearningRate(0.05)
+                .setThreads(threads)
+                .setParallelMode(mode)
+                .setVerbose(false)
+                .setSeed(9);
+    }
+
+    private static void testFloatPrecision() {
+        System.out.println("--- Float Precision ---");
+
+        NeuralNetwork network = new NeuralNetwork(new MeanSquaredError());
+        network.addLayer(new Layer(3, 4, new ReLU(), new HeInitializer(42)));
+        network.addLayer(new Layer(4, 1, new Sigmoid(), new HeInitializer(43)));
+        FloatNeuralNetwork floatNetwork = FloatNeuralNetwork.fromDouble(network);
+
+        double[] input = { 0.2, 0.7, 0.1 };
+        double[] doubleOutput = network.predict(input);
+        double[] floatOutput = floatNetwork.predict(input);
+        test("Float network matches double network", Math.abs(doubleOutput[0] - floatOutput[0]) < 1e-5, true);
+
+        double[] expected = { 0.9 };
+        double first = floatNetwork.train(new float[] { 0.2f, 0.7f, 0.1f }, expected, 0.5);
+        double last = first;
+        for (int i = 0; i < 50; i++) {
+            last = floatNetwork.train(new float[] { 0.2f, 0.7f, 0.1f }, expected, 0.5);
+        }
+        test("Float network training reduces loss", last < first, true);
+
+        System.out.println();
+    }
+
+    private static void testOptimizers() {
+        System.out.println("--- Optimizers ---");
+
+        double[] gradient = { 0.5, -2.0 };
+        double[] sgdWeights = { 1.0, 1.0 };
+        new SGD().createState(2).update(sgdWeights, gradient, 0.1);
+        test("SGD step", sgdWeights[1], 1.2);
+
+        double[] momentumWeights = { 1.0, 1.0 };
+        OptimizerState momentum = new Momentum(0.9).createState(2);
+        momentum.update(momentumWeights, gradient, 0.1);
+        momentum.update(momentumWeights, gradient, 0.1);
+        test("Momentum accumulates velocity", momentumWeights[0], 1.0 - 0.1 * 0.5 - 0.1 * 0.95);
+
+        double[] nesterovWeights = { 1.0, 1.0 };
+        new Momentum(0.9, true).createState(2).update(nesterovWeights, gradient, 0.1);
+        test("Nesterov looks ahead", nesterovWeights[0], 1.0 - 0.1 * (0.5 + 0.9 * 0.5));
+
+        double[] adamWeights = { 1.0, 1.0 };
+        new Adam().createState(2).update(adamWeights, gradient, 0.01);
+        test("Adam first step is lr * sign", adamWeights[1], 1.01);
+
+        double[][] inputs = new double[32][2];
+        double[][] expected = new double[inputs.length][1];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i][0] = (i % 8) / 8.0;
+            inputs[i][1] = (i / 8) / 4.0;
+            expected[i][0] = 0.3 * inputs[i][0] - 0.5 * inputs[i][1] + 0.1;
+        }
+        Optimizer[] optimizers = { new Momentum(0.9, true), new Adam() };
+        for (Optimizer optimizer : optimizers) {
+            NeuralNetwork network = new NeuralNetwork(new MeanSquaredError());
+            network.addLayer(new Layer(2, 6, new Tanh(), new HeInitializer(7)));
+            network.addLayer(new Layer(6, 1, new Linear(), new HeInitializer(8)));
+            TrainingConfig config = new TrainingConfig()
+                    .setEpochs(60)
+                    .setLearningRate(0.01)
+                    .setBatchSize(4)
+                    .setVerbose(false)
+                    .setSeed(3)
+                    .setOptimizer(optimizer);
+            double[] history = new Trainer(network, config).train(inputs, expected);
+            test(optimizer.getClass().getSimpleName() + " reduces loss",
+                    history[history.length - 1] < history[0] * 0.5, true);
+        }
+
+        System.out.println();
+    }
+
+    private static void testEarlyStopping() {
+        System.out.println("--- Early Stopping ---");
+
+        double[][] inputs = new double[16][1];
+        double[][] expected = new double[inputs.length][1];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i][0] = i / 16.0;
+            expected[i][0] = 0.5 * inputs[i][0];
+        }
+
+        NeuralNetwork network = new NeuralNetwork(new MeanSquaredError());
+        network.addLayer(new Layer(1, 1, new Linear(), new HeInitializer(5)));
+        Trainer trainer = new Trainer(network, new TrainingConfig()
+                .setEpochs(500)
+                .setLearningRate(0.1)
+                .setVerbose(false)
+                .setSeed(1)
+                .setTargetLoss(1e-4));
+        double[] history = trainer.train(inputs, expected);
+        test("Target loss stops early", history.length < 500, true);
+        test("Target loss reached", history[history.length - 1] <= 1e-4, true);
+
+        NeuralNetwork noisy = new NeuralNetwork(new MeanSquaredError());
+        noisy.addLayer(new Layer(1, 1, new Linear(), new HeInitializer(5)));
+        double[][] validation = { { 0.5 } };
+        double[][] validationExpected = { { 10.0 } };
+        Trainer patient = new Trainer(noisy, new TrainingConfig()
+                .setEpochs(500)
+                .setLearningRate(0.1)
+                .setVerbose(false)
+                .setSeed(1)
+                .setPatience(5)
+                .setMinDelta(1e-3)
+                .setRestoreBestWeights(true));
+        history = patient.train(inputs, expected, validation, validationExpected);
+        double[] validationHistory = patient.getValidationLossHistory();
+        test("Patience stops early", history.length < 500, true);
+        test("Histories trimmed together", validationHistory.length, history.length);
+        test("Best weights restored", patient.evaluate(validation, validationExpected),
+                validationHistory[patient.getBestEpoch()]);
+
+        NeuralNetwork unpatient = new NeuralNetwork(new MeanSquaredError());
+        unpatient.addLayer(new Layer(1, 1, new Linear(), new HeInitializer(5)));
+        Trainer full = new Trainer(unpatient, new TrainingConfig()
+                .setEpochs(30)
+                .setLearningRate(0.1)
+                .setVerbose(false)
+                .setSeed(1)
+                .setRestoreBestWeights(true));
+        history = full.train(inputs, expected, validation, validationExpected);
+        test("Best weights restored without patience", full.getBestEpoch() < history.length - 1
+                && full.evaluate(validation, validationExpected)
+                        == full.getValidationLossHistory()[full.getBestEpoch()], true);
+
+        NeuralNetwork plain = new NeuralNetwork(new MeanSquaredError());
+        plain.addLayer(new Layer(1, 1, new Linear(), new HeInitializer(5)));
+        Trainer last = new Trainer(plain, new TrainingConfig()
+                .setEpochs(30)
+                .setLearningRate(0.1)
+                .setVerbose(false)
+                .setSeed(1));
+        history = last.train(inputs, expected, validation, validationExpected);
+        test("Final weights kept by default", last.evaluate(validation, validationExpected)
+                == last.getValidationLossHistory()[history.length - 1], true);
+
+        System.out.println();
+    }
+
+    private static void testLearningRateSchedules() {
+        System.out.println("--- Learning Rate Schedules ---");
+
+        test("Step decay", new StepDecay(10, 0.5).learningRate(25, 0.1), 0.025);
+        test("Exponential decay", new ExponentialDecay(0.9).learningRate(2, 1.0), 0.81);
+        CosineAnnealing cosine = new CosineAnnealing(10, 2, 0.0);
+        test("Cosine annealing midpoint", cosine.learningRate(5, 1.0), 0.5);
+        test("Cosine warm restart", cosine.learningRate(10, 1.0), 1.0);
+        test("Cosine longer second cycle", cosine.learningRate(20, 1.0), 0.5);
+        LinearWarmup warmup = new LinearWarmup(4, new StepDecay(1, 0.5));
+        test("Linear warm-up", warmup.learningRate(1, 0.2), 0.1);
+        test("Warm-up hands over", warmup.learningRate(5, 0.2), 0.1);
+
+        double[][] inputs = new double[16][1];
+        double[][] expected = new double[inputs.length][1];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i][0] = i / 16.0;
+            expected[i][0] = 0.5 * inputs[i][0];
+        }
+        NeuralNetwork network = new NeuralNetwork(new MeanSquaredError());
+        network.addLayer(new Layer(1, 1, new Linear(), new HeInitializer(5)));
+        Trainer trainer = new Trainer(network, new TrainingConfig()
+                .setEpochs(200)
+                .setLearningRate(0.1)
+                .setVerbose(false)
+                .setSeed(1)
+                .setSchedule(new CosineAnnealing(50, 0.01))
+                .setConvergenceLoss(1e-3));
+
+        double before = network.getLayer(0).getWeights()[0][0];
+        RangeTestResult range = trainer.learningRateRangeTest(inputs, expected, 1e-4, 10, 50);
+        test("Range test restores weights", network.getLayer(0).getWeights()[0][0], before);
+        test("Range test suggests a rate", range.getSuggestedLearningRate() > 0, true);
+
+        for (Optimizer optimizer : new Optimizer[] { new Momentum(0.9), new Adam() }) {
+            NeuralNetwork stateful = new NeuralNetwork(new MeanSquaredError());
+            stateful.addLayer(new Layer(1, 1, new Linear(), new HeInitializer(6)));
+            stateful.setOptimizer(optimizer);
+            stateful.trainBatch(inputs, expected, 0.01);
+            double[][] state = stateful.snapshotOptimizerState();
+            new Trainer(stateful, new TrainingConfig()
+                    .setLearningRate(0.1)
+                    .setVerbose(false)
+                    .setSeed(1)
+                    .setOptimizer(new Momentum(0.5)))
+                    .learningRateRangeTest(inputs, expected, 1e-4, 10, 20);
+            String name = optimizer.getClass().getSimpleName();
+            test("Range test keeps " + name, stateful.getOptimizer() == optimizer, true);
+            test("Range test restores " + name + " state",
+                    Arrays.deepEquals(stateful.snapshotOptimizerState(), state), true);
+        }
+
+        double[] history = trainer.train(inputs, expected);
+        int epochs = trainer.getEpochsToConvergence();
+        test("Convergence epoch recorded", epochs > 0 && history[epochs - 1] <= 1e-3
+                && (epochs == 1 || history[epochs - 2] > 1e-3), true);
+        test("Convergence time recorded", trainer.getTimeToConvergence() != null, true);
+
+        System.out.println();
+    }
+
+    private static void testCsvParsing() {
+        System.out.println("--- CSV Parsing ---");
+
+        String csv = "a,b,c\r\n1.5, -2e3 ,7\r\n\n  \n0.1,,x\n4,5\n9007199254740993,1e-320,3";
+        try {
+            CsvTable table = new CsvParser(3).parse(
+                    new ByteArrayInputStream(csv.getBytes(StandardCharsets.US_ASCII)));
+            test("CSV skips header and blank lines", table.getRowCount(), 4);
+            test("CSV trims fields", table.getValue(0, 1), -2000.0);
+            test("CSV empty field is missing", table.isMissing(1, 1), true);
+            test("CSV invalid field is missing", table.isMissing(1, 2), true);
+            test("CSV short row is padded with missing", table.isMissing(2, 2), true);
+            test("CSV present field is not missing", table.isMissing(2, 1), false);
+            test("CSV long mantissa rounds like parseDouble",
+                    table.getValue(3, 0) == Double.parseDouble("9007199254740993"), true);
+            test("CSV subnormal parses", table.getValue(3, 1) == 1e-320, true);
+            test("CSV column mean skips missing", table.getColumnMeans()[2], 5.0);
+
+            Path file = Files.createTempFile("component-test", ".csv");
+            StringBuilder rows = new StringBuilder("x,y,target\n");
+            for (int i = 0; i < 150_000; i++) {
+                rows.append(i % 97 == 0 ? "" : String.valueOf(i * 0.25)).append(',')
+                        .append(i % 13).append(',').append(i % 7 == 0 ? "?" : "1.5").append('\n');
+            }
+            Files.writeString(file, rows);
+            DatasetLoader sequential = new DatasetLoader(new UseMeanHandler());
+            sequential.load(file.toString(), 2, 1);
+            DatasetLoader parallel = new DatasetLoader(new UseMeanHandler());
+            parallel.load(file.toString(), 2, 1, 4);
+            Files.delete(file);
+            test("Parallel load keeps file order",
+                    Arrays.deepEquals(sequential.getInputs(), parallel.getInputs())
+                            && Arrays.deepEquals(sequential.getExpected(), parallel.getExpected()),
+                    true);
+        } catch (IOException e) {
+            test("CSV parsing", false, true);
+        }
+
+        System.out.println();
+    }
+
+    private static void testBinaryDataset() {
+        System.out.println("--- Binary Dataset ---");
+
+        double[][] inputs = new double[64][2];
+        double[][] expected = new double[inputs.length][1];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i][0] = i / 64.0;
+            inputs[i][1] = (i % 5) - 2.0;
+            expected[i][0] = 0.5 * inputs[i][0] - 0.1 * inputs[i][1];
+        }
+
+        try {
+            Path rowFile = Files.createTempFile("component-test", ".nnds");
+            Path columnFile = Files.createTempFile("component-test", ".nnds");
+            BinaryDataset.write(rowFile, inputs, expected, new String[] { "x", "y", "target" },
+                    BinaryDataset.Layout.ROW_MAJOR);
+            BinaryDataset.write(columnFile, inputs, expected, null, BinaryDataset.Layout.COLUMN_MAJOR);
+
+            try (BinaryDataset rows = BinaryDataset.open(rowFile);
+                    BinaryDataset columns = BinaryDataset.open(columnFile)) {
+                test("Binary row count", (int) rows.getRowCount(), inputs.length);
+                test("Binary column names", rows.getColumnNames()[2].equals("target"), true);
+                test("Binary default column names", columns.getColumnNames()[1].equals("column1"), true);
+                test("Binary header min", rows.getMins()[1], -2.0);
+                test("Binary header max", rows.getMaxs()[0], 63 / 64.0);
+                test("Binary header mean", rows.getMeans()[1], Arrays.stream(inputs).mapToDouble(r -> r[1])
+                        .average().getAsDouble());
+                test("Binary row-major round trip", Arrays.deepEquals(rows.getInputs(), inputs)
+                        && Arrays.deepEquals(rows.getExpected(), expected), true);
+                test("Binary column-major round trip", Arrays.deepEquals(columns.getInputs(), inputs)
+                        && Arrays.deepEquals(columns.getExpected(), expected), true);
+                test("Binary column-major get", columns.get(17, 2), expected[17][0]);
+
+                DataNormalizer fromArrays = new DataNormalizer();
+                fromArrays.fit(inputs, expected);
+                DataNormalizer fromHeader = new DataNormalizer();
+                fromHeader.fit(rows);
+                test("Normalizer fits from header", Arrays.deepEquals(
+                        fromHeader.normalizeInputs(inputs), fromArrays.normalizeInputs(inputs)), true);
+
+                NeuralNetwork arrayNetwork = new NeuralNetwork(new MeanSquaredError());
+                arrayNetwork.addLayer(new Layer(2, 1, new Linear(), new HeInitializer(3)));
+                NeuralNetwork datasetNetwork = new NeuralNetwork(new MeanSquaredError());
+                datasetNetwork.addLayer(new Layer(2, 1, new Linear(), new HeInitializer(3)));
+                TrainingConfig config = new TrainingConfig()
+                        .setEpochs(5)
+                        .setLearningRate(0.05)
+                        .setBatchSize(4)
+                        .setVerbose(false)
+                        .setSeed(9);
+                double[] arrayHistory = new Trainer(arrayNetwork, config).train(inputs, expected);
+                double[] datasetHistory = new Trainer(datasetNetwork, config).train(columns);
+                test("Dataset training matches array training", Arrays.equals(arrayHistory, datasetHistory), true);
+            } finally {
+                Files.delete(rowFile);
+                Files.delete(columnFile);
+            }
+        } catch (IOException e) {
+            test("Binary dataset", false, true);
+        }
+
+        System.out.println();
+    }
+
+    private static void testDataSources() {
+        System.out.println("--- Data Sources ---");
+
+        try {
+            Path file = Files.createTempFile("component-test", ".csv");
+            StringBuilder rows = new StringBuilder("x,y,target\n");
+            for (int i = 0; i < 10_000; i++) {
+                double x = (i % 100) / 100.0;
+                double y = (i % 7) / 7.0;
+                rows.append(i % 50 == 0 ? "" : String.valueOf(x)).append(',').append(y).append(',')
+                        .append(i % 333 == 0 ? "?" : String.valueOf(0.3 * x - 0.2 * y)).append('\n');
+            }
+            Files.writeString(file, rows);
+
+            DatasetLoader loader = new DatasetLoader(new UseMeanHandler());
+            loader.load(file.toString(), 2, 1);
+            double[][] inputs = loader.getInputs();
+            double[][] expected = loader.getExpected();
+            CsvDataSource csv = new CsvDataSource(file, 2, 1, new UseMeanHandler());
+            CsvDataSource skipping = new CsvDataSource(file, 2, 1, new SkipRowHandler());
+
+            TrainingConfig ordered = new TrainingConfig()
+                    .setEpochs(3)
+                    .setLearningRate(0.05)
+                    .setBatchSize(8)
+                    .setShuffle(false)
+                    .setVerbose(false);
+            NeuralNetwork arrayNetwork = new NeuralNetwork(new MeanSquaredError());
+            arrayNetwork.addLayer(new Layer(2, 1, new Linear(), new HeInitializer(4)));
+            NeuralNetwork streamNetwork = new NeuralNetwork(new MeanSquaredError());
+            streamNetwork.addLayer(new Layer(2, 1, new Linear(), new HeInitializer(4)));
+            double[] arrayHistory = new Trainer(arrayNetwork, ordered).train(inputs, expected);
+            Trainer streamTrainer = new Trainer(streamNetwork, ordered);
+            double[] streamHistory = streamTrainer.train(csv);
+            test("Streamed CSV training matches arrays",
+                    Arrays.deepEquals(arrayNetwork.snapshotWeights(), streamNetwork.snapshotWeights()), true);
+            test("Streamed CSV loss matches arrays", streamHistory[2], arrayHistory[2]);
+            test("Streamed evaluation matches arrays",
+                    streamTrainer.evaluate(csv) == streamTrainer.evaluate(inputs, expected), true);
+            test("Array source evaluation matches arrays",
+                    streamTrainer.evaluate(new ArrayDataSource(inputs, expected))
+                            == streamTrainer.evaluate(inputs, expected), true);
+
+            NeuralNetwork frozen = new NeuralNetwork(new MeanSquaredError());
+            frozen.addLayer(new Layer(2, 1, new Linear(), new HeInitializer(4)));
+            Trainer buffered = new Trainer(frozen, new TrainingConfig()
+                    .setEpochs(1)
+                    .setLearningRate(0.0)
+                    .setShuffleBufferSize(64)
+                    .setVerbose(false)
+                    .setSeed(2));
+            double[] history = buffered.train(skipping);
+            test("Shuffle buffer visits every kept row", history[0], buffered.evaluate(skipping));
+
+            NeuralNetwork learner = new NeuralNetwork(new MeanSquaredError());
+            learner.addLayer(new Layer(2, 1, new Linear(), new HeInitializer(4)));
+            Trainer shuffled = new Trainer(learner, new TrainingConfig()
+                    .setEpochs(20)
+                    .setLearningRate(0.05)
+                    .setShuffleBufferSize(256)
+                    .setVerbose(false)
+                    .setSeed(2));
+            history = shuffled.train(csv, new ArrayDataSource(inputs, expected));
+            test("Shuffle buffer training converges", history[history.length - 1] < history[0], true);
+            test("Validation source recorded", shuffled.getValidationLossHistory().length, history.length);
+
+            Path columnFile = Files.createTempFile("component-test", ".nnds");
+            CsvToBinary.convert(file, columnFile, 2, 1, new UseMeanHandler(), BinaryDataset.Layout.COLUMN_MAJOR);
+            try (BinaryDataset converted = BinaryDataset.open(columnFile)) {
+                test("Streamed conversion matches loader", Arrays.deepEquals(converted.getInputs(), inputs)
+                        && Arrays.deepEquals(converted.getExpected(), expected), true);
+            }
+            Files.delete(columnFile);
+
+            try (BinaryDataset skipped = CsvToBinary.openCached(file, 2, 1, new SkipRowHandler());
+                    BinaryDataset zeroed = CsvToBinary.openCached(file, 2, 1, new UseZeroHandler())) {
+                test("Cache is keyed by handler", skipped.getRowCount() < zeroed.getRowCount(), true);
+            }
+            try (BinaryDataset resplit = CsvToBinary.openCached(file, 1, 2, new UseZeroHandler())) {
+                test("Cache reconverts on a new column split", resplit.getInputColumns(), 1);
+            }
+
+            Path named = Files.createTempFile("component-test", ".csv");
+            Path namedBinary = named.resolveSibling(named.getFileName() + ".nnds");
+            Files.writeString(named, "\uFEFFgröße,Δt,ziel\n1,2,3\n4,,6\n");
+            CsvToBinary.convert(named, namedBinary, 2, 1, new UseZeroHandler(), BinaryDataset.Layout.ROW_MAJOR);
+            try (BinaryDataset converted = BinaryDataset.open(namedBinary)) {
+                test("Conversion keeps UTF-8 column names", converted.getColumnNames()[0].equals("größe")
+                        && converted.getColumnNames()[1].equals("Δt"), true);
+            }
+            Files.delete(namedBinary);
+            boolean failed = false;
+            try {
+                CsvToBinary.convert(named, namedBinary, 2, 1, new ThrowErrorHandler(), BinaryDataset.Layout.ROW_MAJOR);
+            } catch (RuntimeException e) {
+                failed = true;
+            }
+            test("Failed conversion leaves no files", failed && !Files.exists(namedBinary)
+                    && !Files.exists(namedBinary.resolveSibling(namedBinary.getFileName() + ".tmp")), true);
+            Files.delete(named);
+            Path headerOnly = Files.createTempFile("component-test", ".csv");
+            Files.writeString(headerOnly, "x,y,target\n");
+            CsvDataSource empty = new CsvDataSource(headerOnly, 2, 1, new SkipRowHandler());
+            boolean trainRejected = false;
+            try {
+                streamTrainer.train(empty);
+            } catch (IllegalArgumentException e) {
+                trainRejected = true;
+            }
+            boolean evaluateRejected = false;
+            try {
+                streamTrainer.evaluate(empty);
+            } catch (IllegalArgumentException e) {
+                evaluateRejected = true;
+            }
+            test("Empty source rejected for training", trainRejected, true);
+            test("Empty source rejected for evaluation", evaluateRejected, true);
+            Files.delete(headerOnly);
+
+            Files.delete(file.resolveSibling(file.getFileName() + ".SkipRowHandler.nnds"));
+            Files.delete(file.resolveSibling(file.getFileName() + ".UseZeroHandler.nnds"));
+            Files.delete(file);
+        } catch (IOException e) {
+            test("Data sources", false, true);
+        }
+
+        System.out.println();
+    }
+
+    private static void testNormalizer() {
+        System.out.println("--- Normalizer ---");
+
+        double[][] inputs = new double[1000][2];
+        double[][] outputs = new double[inputs.length][1];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i][0] = -1 - (i % 10);
+            inputs[i][1] = 1e6 + Math.sin(i);
+            outputs[i][0] = i * 0.01;
+        }
+
+        DataNormalizer minMax = new DataNormalizer();
+        minMax.fit(inputs, outputs);
+        test("All-negative column max", minMax.getInputMaxs()[0], -1.0);
+        test("All-negative column normalizes to [0, 1]", minMax.normalizeInput(new double[] { -1, 1e6 })[0], 1.0);
+
+        ColumnStatistics whole = ColumnStatistics.of(inputs, 0, inputs.length);
+        ColumnStatistics merged = ColumnStatistics.of(inputs, 0, 333);
+        merged.merge(ColumnStatistics.of(inputs, 333, inputs.length));
+        test("Welford mean", whole.getMeans()[0], -5.5);
+        test("Welford variance", whole.getVariances()[0], 8.25);
+        test("Merged variance matches single pass", merged.getVariances()[1], whole.getVariances()[1]);
+        test("Merged count", (int) merged.getCount(), inputs.length);
+
+        DataNormalizer parallel = new DataNormalizer();
+        parallel.fit(inputs, outputs, 4);
+        test("Parallel fit matches sequential",
+                Arrays.deepEquals(parallel.normalizeInputs(inputs), minMax.normalizeInputs(inputs)), true);
+
+        DataNormalizer partial = new DataNormalizer(DataNormalizer.Mode.Z_SCORE);
+        partial.partialFit(Arrays.copyOfRange(inputs, 0, 400), Arrays.copyOfRange(outputs, 0, 400));
+        for (int i = 400; i < inputs.length; i++) {
+            partial.partialFit(inputs[i], outputs[i]);
+        }
+        DataNormalizer zScore = new DataNormalizer(DataNormalizer.Mode.Z_SCORE);
+        zScore.fit(inputs, outputs);
+        test("Partial fit matches fit", partial.normalizeInput(inputs[7])[0], zScore.normalizeInput(inputs[7])[0]);
+        double[][] extended = Arrays.copyOf(inputs, inputs.length + 1);
+        double[][] extendedOutputs = Arrays.copyOf(outputs, outputs.length + 1);
+        extended[inputs.length] = new double[] { 100, -100 };
+        extendedOutputs[inputs.length] = outputs[0];
+        partial.partialFit(extended[inputs.length], extendedOutputs[inputs.length]);
+        DataNormalizer refit = new DataNormalizer(DataNormalizer.Mode.Z_SCORE);
+        refit.fit(extended, extendedOutputs);
+        test("Partial fit rescales after normalizing", partial.normalizeInput(inputs[7])[1],
+                refit.normalizeInput(inputs[7])[1]);
+
+        boolean rejected = false;
+        try {
+            new ColumnStatistics(2).add(new double[3]);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        test("Statistics reject rows of the wrong width", rejected, true);
+
+        double[][] copy = new double[inputs.length][];
+        for (int i = 0; i < inputs.length; i++) {
+            copy[i] = inputs[i].clone();
+        }
+        double[][] normalized = zScore.normalizeInputs(inputs);
+        test("In-place matches copying normalize",
+                Arrays.deepEquals(zScore.normalizeInputsInPlace(copy), normalized), true);
+        ColumnStatistics standardized = ColumnStatistics.of(copy, 0, copy.length);
+        test("Z-score mean is zero", standardized.getMeans()[0], 0.0);
+        test("Z-score deviation is one", standardized.getStandardDeviations()[0], 1.0);
+        test("Z-score round trip", zScore.denormalizeOutputValue(zScore.normalizeOutput(outputs[42])[0], 0),
+                outputs[42][0]);
+
+        System.out.println();
+    }
+
+    private static void testModelFile() {
+        System.out.println("--- Model File ---");
+
+        NeuralNetwork network = new NeuralNetwork(new CrossEntropyLoss());
+        network.addLayer(new Layer(3, 6, new Tanh(), new HeInitializer(11)));
+        network.addLayer(new Layer(6, 4, new ReLU(), new HeInitializer(12)));
+        network.addLayer(new Layer(4, 2, new Sigmoid(), new HeInitializer(13)));
+        double[][] inputs = { { 0.1, -0.4, 2.0 }, { 1.5, 0.0, -0.7 }, { -3, 3, 0.5 } };
+        double[][] outputs = { { 0.2 }, { 0.9 }, { -1.0 } };
+        DataNormalizer normalizer = new DataNormalizer(DataNormalizer.Mode.Z_SCORE);
+        normalizer.fit(inputs, outputs);
+
+        try {
+            Path file = Files.createTempFile("component-test", ".nnm");
+            ModelFile.write(file, network, normalizer);
+            ModelFile model = ModelFile.read(file);
+            NeuralNetwork loaded = model.toNetwork();
+            test("Model file keeps weights", Arrays.deepEquals(loaded.snapshotWeights(), network.snapshotWeights()),
+                    true);
+            test("Model file keeps loss", loaded.getLossFunction() instanceof CrossEntropyLoss, true);
+            test("Model file keeps activations", loaded.getLayer(1).getActivation() instanceof ReLU, true);
+            test("Model file inference matches", Arrays.equals(model.toInferenceModel().predict(inputs[1]),
+                    network.compileForInference().predict(inputs[1])), true);
+            DataNormalizer restored = model.getNormalizer();
+            test("Model file keeps normalizer mode", restored.getMode() == DataNormalizer.Mode.Z_SCORE, true);
+            test("Model file keeps normalizer", restored.normalizeInput(inputs[2])[1],
+                    normalizer.normalizeInput(inputs[2])[1]);
+
+            ModelFile.write(file, network);
+            test("Model file without normalizer", ModelFile.read(file).getNormalizer() == null, true);
+
+            Files.write(file, Arrays.copyOf(Files.readAllBytes(file), (int) Files.size(file) - 8));
+            boolean rejected = false;
+            try {
+                ModelFile.read(file);
+            } catch (IOException e) {
+                rejected = true;
+            }
+            test("Truncated model file rejected", rejected, true);
+            Files.delete(file);
+        } catch (IOException e) {
+            test("Model file", false, true);
+        }
+
+        System.out.println();
+    }
+
+    private static void testCheckpoints() {
+        System.out.println("--- Checkpoints ---");
+
+        double[][] inputs = new double[40][2];
+        double[][] expected = new double[inputs.length][1];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i][0] = i / 40.0;
+            inputs[i][1] = (i % 3) / 3.0;
+            expected[i][0] = inputs[i][0] * inputs[i][1];
+        }
+
+        try {
+            Path file = Files.createTempFile("component-test", ".ckpt");
+            NeuralNetwork straight = new NeuralNetwork(new MeanSquaredError());
+            straight.addLayer(new Layer(2, 4, new Tanh(), new HeInitializer(21)));
+            straight.addLayer(new Layer(4, 1, new Linear(), new HeInitializer(22)));
+            double[] full = new Trainer(straight, new TrainingConfig()
+                    .setEpochs(10)
+                    .setLearningRate(0.05)
+                    .setBatchSize(4)
+                    .setOptimizer(new Adam())
+                    .setVerbose(false)
+                    .setSeed(5))
+                    .train(inputs, expected);
+
+            NeuralNetwork interrupted = new NeuralNetwork(new MeanSquaredError());
+            interrupted.addLayer(new Layer(2, 4, new Tanh(), new HeInitializer(21)));
+            interrupted.addLayer(new Layer(4, 1, new Linear(), new HeInitializer(22)));
+            new Trainer(interrupted, new TrainingConfig()
+                    .setEpochs(6)
+                    .setLearningRate(0.05)
+                    .setBatchSize(4)
+                    .setOptimizer(new Adam())
+                    .setVerbose(false)
+                    .setSeed(5)
+                    .setCheckpointPath(file)
+                    .setCheckpointEvery(4))
+                    .train(inputs, expected);
+            Checkpoint checkpoint = Checkpoint.read(file);
+            test("Final checkpoint written", checkpoint.getEpoch(), 6);
+
+            NeuralNetwork resumed = new NeuralNetwork(new MeanSquaredError());
+            resumed.addLayer(new Layer(2, 4, new Tanh(), new HeInitializer(99)));
+            resumed.addLayer(new Layer(4, 1, new Linear(), new HeInitializer(98)));
+            double[] continued = new Trainer(resumed, new TrainingConfig()
+                    .setEpochs(10)
+                    .setLearningRate(0.05)
+                    .setBatchSize(4)
+                    .setOptimizer(new Adam())
+                    .setVerbose(false))
+                    .resume(checkpoint)
+                    .train(inputs, expected);
+            test("Resumed history length", continued.length, full.length);
+            test("Resume matches uninterrupted run", Arrays.equals(continued, full)
+                    && Arrays.deepEquals(resumed.snapshotWeights(), straight.snapshotWeights()), true);
+            Files.delete(file);
+        } catch (IOException e) {
+            test("Checkpoints", false, true);
+        }
+
+        System.out.println();
+    }
+
+    private static void testTrainingListener() {
+        System.out.println("--- Training Listener ---");
+
+        double[][] inputs = new double[64][3];
+        double[][] expected = new double[inputs.length][1];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i][0] = i / 64.0;
+            inputs[i][1] = (i % 4) / 4.0;
+            inputs[i][2] = (i % 9) / 9.0;
+            expected[i][0] = inputs[i][0] - inputs[i][2];
+        }
+
+        NeuralNetwork network = new NeuralNetwork(new MeanSquaredError());
+        network.addLayer(new Layer(3, 5, new ReLU(), new HeInitializer(31)));
+        network.addLayer(new Layer(5, 1, new Linear(), new HeInitializer(32)));
+        List<EpochMetrics> epochs = new ArrayList<>();
+        double[] history = new Trainer(network, new TrainingConfig()
+                .setEpochs(4)
+                .setBatchSize(8)
+                .setLearningRate(0.05)
+                .setVerbose(false)
+                .setSeed(3)
+                .addListener(epochs::add))
+                .train(inputs, expected, inputs, expected);
+
+        EpochMetrics last = epochs.get(epochs.size() - 1);
+        test("Listener called every epoch", epochs.size(), 4);
+        test("Metrics report epoch loss", last.getLoss(), history[3]);
+        test("Metrics report validation loss", Double.isNaN(last.getValidationLoss()), false);
+        test("Metrics count samples", (int) last.getSamples(), inputs.length);
+        test("Metrics time every layer", last.getForwardNanos()[1] > 0 && last.getBackwardNanos()[0] > 0
+                && last.getUpdateNanos()[1] > 0 && last.getLossNanos() > 0, true);
+        test("Metrics report gradient norms", last.getGradientNorms()[0] > 0, true);
+        test("Metrics report throughput", last.getSamplesPerSecond() > 0, true);
+        test("Profiling disabled after training", network.getProfiler() == null, true);
+
+        List<EpochMetrics> sampleEpochs = new ArrayList<>();
+        new Trainer(network, new TrainingConfig()
+                .setEpochs(2)
+                .setLearningRate(0.05)
+                .setVerbose(false)
+                .setSeed(3)
+                .addListener(sampleEpochs::add))
+                .train(inputs, expected);
+        EpochMetrics sample = sampleEpochs.get(sampleEpochs.size() - 1);
+        test("Per-sample metrics time updates", sample.getUpdateNanos()[0] > 0
+                && sample.getUpdateNanos()[1] > 0 && sample.getBackwardNanos()[0] > 0, true);
+        test("Per-sample metrics report gradient norms", sample.getGradientNorms()[0] > 0
+                && sample.getGradientNorms()[1] > 0, true);
+
+        System.out.println();
+    }
+
+    private static void testFlightRecorderEvents() {
+        System.out.println("--- Flight Recorder Events ---");
+
+        double[][] inputs = new double[32][2];
+        double[][] expected = new double[inputs.length][1];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i][0] = i / 32.0;
+            inputs[i][1] = (i % 5) / 5.0;
+            expected[i][0] = inputs[i][0] + inputs[i][1];
+        }
+
+        try (Recording recording = new Recording()) {
+            recording.enable("nn.training.Epoch");
+            recording.enable("nn.core.Forward").withThreshold(Duration.ZERO);
+            recording.enable("nn.core.Backward").withThreshold(Duration.ZERO);
+            recording.enable("nn.core.Layer");
+            recording.enable("nn.data.NormalizerFit");
+            recording.start();
+
+            DataNormalizer normalizer = new DataNormalizer();
+            normalizer.fit(inputs, expected);
+            NeuralNetwork network = new NeuralNetwork(new MeanSquaredError());
+            network.addLayer(new Layer(2, 3, new Tanh(), new HeInitializer(41)));
+            network.addLayer(new Layer(3, 1, new Linear(), new HeInitializer(42)));
+            new Trainer(network, new TrainingConfig()
+                    .setEpochs(3)
+                    .setBatchSize(8)
+                    .setVerbose(false)
+                    .setSeed(4))
+                    .train(normalizer.normalizeInputs(inputs), normalizer.normalizeOutputs(expected));
+            recording.stop();
+
+            Path file = Files.createTempFile("component-test", ".jfr");
+            recording.dump(file);
+            int epochs = 0;
+            int forwards = 0;
+            int backwards = 0;
+            int layerUpdates = 0;
+            long fitRows = 0;
+            double lastLoss = Double.NaN;
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                switch (event.getEventType().getName()) {
+                    case "nn.training.Epoch":
+                        epochs++;
+                        lastLoss = event.getDouble("loss");
+                        break;
+                    case "nn.core.Forward":
+                        forwards++;
+                        break;
+                    case "nn.core.Backward":
+                        backwards++;
+                        break;
+                    case "nn.core.Layer":
+                        if ("update".equals(event.getString("phase"))) {
+                            layerUpdates++;
+                        }
+                        break;
+                    case "nn.data.NormalizerFit":
+                        fitRows = event.getLong("rows");
+                        break;
+                    default:
+                        break;
+                }
+            }
+            test("Epoch events recorded", epochs, 3);
+            test("Epoch event carries loss", Double.isNaN(lastLoss), false);
+            test("Batch forward and backward events", forwards == 12 && backwards == 12, true);
+            test("Layer update events", layerUpdates, 24);
+            test("Normalizer fit event", (int) fitRows, inputs.length);
+            Files.delete(file);
+        } catch (IOException e) {
+            test("Flight recorder events", false, true);
+        }
+
+        System.out.println();
+    }
+
+    private static void testPredictionServer() {
+        System.out.println("--- Prediction Server ---");
+
+        double[][] inputs = { { 1, 10 }, { 2, 20 }, { 3, 15 }, { 4, 5 } };
+        double[][] expected = { { 3 }, { 6 }, { 4 }, { 1 } };
+        DataNormalizer normalizer = new DataNormalizer();
+        normalizer.fit(inputs, expected);
+        NeuralNetwork network = new NeuralNetwork(new MeanSquaredError());
+        network.addLayer(new Layer(2, 3, new Tanh(), new HeInitializer(51)));
+        network.addLayer(new Layer(3, 1, new Linear(), new HeInitializer(52)));
+        double[][] local = network.compileForInference().predictBatch(normalizer.normalizeInputs(inputs));
+        double first = normalizer.denormalizeOutputValue(local[0][0], 0);
+        double second = normalizer.denormalizeOutputValue(local[1][0], 0);
+
+        try (PredictionServer server = new PredictionServer(network.compileForInference(), normalizer).start(0)) {
+            HttpClient client = HttpClient.newHttpClient();
+            URI predict = URI.create("http://localhost:" + server.getPort() + "/predict");
+
+            String json = client.send(HttpRequest.newBuilder(predict)
+                    .POST(HttpRequest.BodyPublishers.ofString("[[1, 10], [2, 20]]"))
+                    .build(), HttpResponse.BodyHandlers.ofString()).body();
+            test("JSON predictions", json.equals("{\"predictions\":[[" + first + "],[" + second + "]]}"), true);
+
+            String csv = client.send(HttpRequest.newBuilder(predict)
+                    .header("Content-Type", "text/csv")
+                    .POST(HttpRequest.BodyPublishers.ofString("1,10\r\n\n2,20\n"))
+                    .build(), HttpResponse.BodyHandlers.ofString()).body();
+            test("CSV predictions", csv.equals(first + "\n" + second + "\n"), true);
+
+            HttpResponse<String> single = client.send(HttpRequest.newBuilder(predict)
+                    .POST(HttpRequest.BodyPublishers.ofString("[1, 10]"))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            test("Single JSON row", single.body().equals("{\"predictions\":[[" + first + "]]}"), true);
+
+            String spaced = client.send(HttpRequest.newBuilder(predict)
+                    .POST(HttpRequest.BodyPublishers.ofString(" [ 1,10]"))
+                    .build(), HttpResponse.BodyHandlers.ofString()).body();
+            test("Single JSON row with whitespace", spaced.equals("{\"predictions\":[[" + first + "]]}"), true);
+
+            String pretty = client.send(HttpRequest.newBuilder(predict)
+                    .POST(HttpRequest.BodyPublishers.ofString("[\n  [ 1, 10 ],\n  [ 2, 20 ]\n]\n"))
+                    .build(), HttpResponse.BodyHandlers.ofString()).body();
+            test("Pretty-printed JSON", pretty.equals("{\"predictions\":[[" + first + "],[" + second + "]]}"), true);
+
+            HttpResponse<String> invalid = client.send(HttpRequest.newBuilder(predict)
+                    .POST(HttpRequest.BodyPublishers.ofString("[[1, 10, 3]]"))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            test("Wrong width rejected", invalid.statusCode(), 400);
+
+            String metrics = client.send(HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + server.getPort() + "/metrics")).build(),
+                    HttpResponse.BodyHandlers.ofString()).body();
+            test("Metrics count requests", metrics.contains("\"requests\":6,\"rows\":8,\"errors\":1"), true);
+            test("Metrics report latency percentiles", metrics.contains("\"p99\":"), true);
+        } catch (IOException e) {
+            test("Prediction server", false, true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            test("Prediction server", false, true);
+        }
+
+        System.out.println();
+    }
+
+    private static void testInferenceModel() {
+        System.out.println("--- Inference Model ---");
+
+        NeuralNetwork network = new NeuralNetwork(new MeanSquaredError());
+        network.addLayer(new Layer(3, 16, new Tanh(), new HeInitializer(42)));
+        network.addLayer(new Layer(16, 2, new Linear(), new HeInitializer(43)));
+        InferenceModel model = network.compileForInference();
+
+        double[][] inputs = new double[64][3];
+        double[][] expected = new double[inputs.length][];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = new double[] { i * 0.1, 1 - i * 0.05, (i % 7) * 0.3 };
+            expected[i] = network.predict(inputs[i]);
+        }
+        test("InferenceModel matches predict", model.predict(inputs[5])[1], expected[5][1]);
+
+        boolean[] consistent = { true };
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int round = 0; round < 200; round++) {
+                    for (int i = 0; i < inputs.length; i++) {
+                        double[] prediction = model.predict(inputs[i]);
+                        if (prediction[0] != expected[i][0] || prediction[1] != expected[i][1])
+                            consistent[0] = false;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        test("InferenceModel concurrent predictions", consistent[0], true);
+
+        double[][] large = new double[3000][];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = inputs[i % inputs.length];
+        }
+        double[][] batch = model.predictBatch(large);
+        boolean batchMatches = true;
+        for (int i = 0; i < large.length; i++) {
+            double[] single = expected[i % inputs.length];
+            if (Math.abs(batch[i][0] - single[0]) > 1e-12 || Math.abs(batch[i][1] - single[1]) > 1e-12)
+                batchMatches = false;
+        }
+        test("predictBatch matches predict", batchMatches, true);
+
+        network.predictBatch(inputs);
+        network.train(inputs[3], new double[] { 1, -1 }, 0.1);
+        test("Network predictBatch follows training",
+                Math.abs(network.predictBatch(inputs)[3][0] - network.predict(inputs[3])[0]) < 1e-12, true);
+        network.addLayer(new Layer(2, 1, new Linear(), new HeInitializer(44)));
+        test("Network predictBatch follows new layers", network.predictBatch(inputs)[0].length, 1);
+
+        System.out.println();
+    }
+
     private static void test(String name, double actual, double expected) {
         if (Math.abs(actual - expected) < 0.0001) {
             System.out.println("  ✓ " + name);